@@ -0,0 +1,120 @@
+package com.ninjaone.dundie_awards.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
+import com.ninjaone.dundie_awards.json.DtoSerializers;
+import com.ninjaone.dundie_awards.model.ActivityType;
+import com.ninjaone.dundie_awards.proto.ActivityPage;
+import com.ninjaone.dundie_awards.proto.EmployeePage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes one page of employees and activities in each supported format.
+ * Payload sizes are printed once per trial; time and {@code gc.alloc.rate.norm} come from JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<PageResponse<EmployeeDto>> EMPLOYEE_PAGE = new TypeReference<>() {};
+    private static final TypeReference<PageResponse<ActivityDto>> ACTIVITY_PAGE = new TypeReference<>() {};
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    @Param({"500"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private PageResponse<EmployeeDto> employees;
+    private PageResponse<ActivityDto> activities;
+    private byte[] encodedEmployees;
+    private byte[] encodedActivities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule()
+                        .addSerializer(new DtoSerializers.EmployeeDtoSerializer())
+                        .addSerializer(new DtoSerializers.ActivityDtoSerializer())
+                        .addSerializer(new DtoSerializers.PageResponseSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<EmployeeDto> employeeItems = new ArrayList<>(pageSize);
+        List<ActivityDto> activityItems = new ArrayList<>(pageSize);
+        Instant now = Instant.now();
+        for (int i = 0; i < pageSize; i++) {
+            employeeItems.add(new EmployeeDto((long) i, "First" + i, "Last" + i, 1L, "Dunder Mifflin", i % 7, 3L, null));
+            activityItems.add(new ActivityDto((long) i, now.minusSeconds(i), (long) i, ActivityType.AWARD_GRANTED));
+        }
+        employees = new PageResponse<>(employeeItems, 0, pageSize, 10_000, 10_000 / pageSize, true, false);
+        activities = new PageResponse<>(activityItems, 0, pageSize, 10_000, 10_000 / pageSize, true, false);
+
+        encodedEmployees = encodeEmployees();
+        encodedActivities = encodeActivities();
+        int jsonEmployees = JsonMapper.builder().addModule(new JavaTimeModule()).build()
+                .writeValueAsBytes(employees).length;
+        System.out.printf("%n[%s] employee page: %d bytes (%.0f%% of JSON), activity page: %d bytes%n",
+                format, encodedEmployees.length, 100.0 * encodedEmployees.length / jsonEmployees,
+                encodedActivities.length);
+    }
+
+    @Benchmark
+    public byte[] encodeEmployees() throws IOException {
+        return "protobuf".equals(format)
+                ? ProtobufDtoMapper.toEmployeePage(employees).toByteArray()
+                : mapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] encodeActivities() throws IOException {
+        return "protobuf".equals(format)
+                ? ProtobufDtoMapper.toActivityPage(activities).toByteArray()
+                : mapper.writeValueAsBytes(activities);
+    }
+
+    @Benchmark
+    public Object decodeEmployees() throws IOException {
+        return "protobuf".equals(format)
+                ? EmployeePage.parseFrom(encodedEmployees)
+                : mapper.readValue(encodedEmployees, EMPLOYEE_PAGE);
+    }
+
+    @Benchmark
+    public Object decodeActivities() throws IOException {
+        return "protobuf".equals(format)
+                ? ActivityPage.parseFrom(encodedActivities)
+                : mapper.readValue(encodedActivities, ACTIVITY_PAGE);
+    }
+}
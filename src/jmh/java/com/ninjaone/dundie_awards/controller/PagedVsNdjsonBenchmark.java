@@ -0,0 +1,139 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.DundieAwardsApplication;
+import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads every employee over loopback once as JSON pages ({@code GET /api/employees?page=n},
+ * one request per page) and once as a single {@code application/x-ndjson} stream, against the
+ * same in-process application. The client drains each body into a fixed buffer, so
+ * {@code gc.alloc.rate.norm} is dominated by what the server allocates to produce one full
+ * listing; the score is the time to read the whole table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PagedVsNdjsonBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    private int employees;
+
+    private final byte[] buffer = new byte[8192];
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<HttpRequest> pageRequests;
+    private HttpRequest streamRequest;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(DundieAwardsApplication.class)
+                .properties("server.port=0", "management.server.port=0", "grpc.enabled=false",
+                        "spring.jpa.show-sql=false", "logging.level.com.ninjaone=WARN")
+                .run();
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        Organization organization = context.getBean(OrganizationRepository.class)
+                .save(Organization.builder().name("Dunder Mifflin").build());
+        List<Employee> rows = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            rows.add(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .organization(organization)
+                    .dundieAwards(i % 7)
+                    .build());
+        }
+        employeeRepository.saveAll(rows);
+        long total = employeeRepository.count();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(login.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + login.body());
+        }
+        String authorization = "Bearer " + matcher.group(1);
+
+        pageRequests = new ArrayList<>();
+        for (long page = 0; page * PAGE_SIZE < total; page++) {
+            pageRequests.add(HttpRequest.newBuilder(URI.create(
+                            baseUrl + "/api/employees?sort=id&size=" + PAGE_SIZE + "&page=" + page))
+                    .header("Authorization", authorization)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build());
+        }
+        streamRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees"))
+                .header("Authorization", authorization)
+                .header("Accept", "application/x-ndjson")
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long paged() throws IOException, InterruptedException {
+        long bytes = 0;
+        for (HttpRequest request : pageRequests) {
+            bytes += drain(request);
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException, InterruptedException {
+        return drain(streamRequest);
+    }
+
+    private long drain(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        long bytes = 0;
+        try (InputStream body = response.body()) {
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                bytes += read;
+            }
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for Redis running {@code write_rate_limit.lua} and {@code write_rate_limit_lease.lua}:
+ * the same bucket arithmetic and replies over an in-process map, executed atomically like a
+ * script, with a simulated network round trip per call.
+ */
+final class InProcessRateLimitStore implements RateLimitStore, RateLimitLeaseSource {
+
+    private final Map<ByteBuffer, double[]> buckets = new HashMap<>();
+    private final long roundTripNanos;
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    InProcessRateLimitStore(Duration roundTrip) {
+        this.roundTripNanos = roundTrip.toNanos();
+    }
+
+    long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    @Override
+    public CompletableFuture<RateLimitDecision> consume(List<RateLimitBucket> requested, long cost) {
+        roundTrip();
+        return CompletableFuture.completedFuture(RateLimitDecision.fromReply(requested, run(requested, cost)));
+    }
+
+    @Override
+    public CompletableFuture<List<RateLimitLease>> lease(List<RateLimitBucket> requested, long[] amounts) {
+        roundTrip();
+        return CompletableFuture.completedFuture(leaseNow(requested, amounts));
+    }
+
+    private synchronized List<RateLimitLease> leaseNow(List<RateLimitBucket> requested, long[] amounts) {
+        double now = TimeUnit.NANOSECONDS.toMicros(System.nanoTime());
+        List<RateLimitLease> reply = new ArrayList<>(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+            RateLimitBucket bucket = requested.get(i);
+            double t = refilled(bucket, now);
+            long granted = 0;
+            if (amounts[i] > 0) {
+                granted = Math.max(0, Math.min(amounts[i], (long) Math.floor(t)));
+                t -= granted;
+            } else {
+                t = Math.min(bucket.capacity(), t - amounts[i]);
+            }
+            buckets.put(ByteBuffer.wrap(bucket.key()), new double[]{t, now});
+            double perToken = (double) bucket.refillPeriodMicros() / bucket.capacity();
+            reply.add(new RateLimitLease(granted, (long) Math.floor(t),
+                    t < 1 ? (long) Math.ceil((1 - t) * perToken) : 0,
+                    (long) Math.ceil((bucket.capacity() - t) * perToken)));
+        }
+        return reply;
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+        if (roundTripNanos > 0) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+
+    private double refilled(RateLimitBucket bucket, double now) {
+        double[] state = buckets.get(ByteBuffer.wrap(bucket.key()));
+        return state == null
+                ? bucket.capacity()
+                : Math.min(bucket.capacity(),
+                        state[0] + Math.max(0, now - state[1]) * bucket.capacity() / bucket.refillPeriodMicros());
+    }
+
+    private synchronized List<Long> run(List<RateLimitBucket> requested, long cost) {
+        double now = TimeUnit.NANOSECONDS.toMicros(System.nanoTime());
+        double[] tokens = new double[requested.size()];
+        int blocking = 0;
+        long wait = 0;
+        for (int i = 0; i < requested.size(); i++) {
+            RateLimitBucket bucket = requested.get(i);
+            double t = refilled(bucket, now);
+            tokens[i] = t;
+            if (t < cost) {
+                long needed = (long) Math.ceil((cost - t) * bucket.refillPeriodMicros() / bucket.capacity());
+                if (needed > wait) {
+                    wait = needed;
+                    blocking = i + 1;
+                }
+            }
+        }
+        List<Long> reply = new ArrayList<>(List.of(blocking == 0 ? 1L : 0L, (long) blocking, wait));
+        for (int i = 0; i < requested.size(); i++) {
+            RateLimitBucket bucket = requested.get(i);
+            double t = tokens[i];
+            if (blocking == 0) {
+                t -= cost;
+                buckets.put(ByteBuffer.wrap(bucket.key()), new double[]{t, now});
+            }
+            reply.add((long) Math.floor(t));
+            reply.add((long) Math.ceil((bucket.capacity() - t) * bucket.refillPeriodMicros() / bucket.capacity()));
+        }
+        return reply;
+    }
+}
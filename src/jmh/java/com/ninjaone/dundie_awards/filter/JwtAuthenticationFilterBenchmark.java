@@ -0,0 +1,87 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.JwtProperties;
+import com.ninjaone.dundie_awards.config.JwtTokenProvider;
+import com.ninjaone.dundie_awards.util.BloomFilter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request with a repeat bearer token. {@code verificationCacheSize=0}
+ * measures a single verification per request; {@code legacyTripleParse} reproduces the former
+ * behavior of rebuilding the key and parser for three full verifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-signing-minimum-32-characters";
+
+    @Param({"0", "10000"})
+    private long verificationCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setVerificationCacheSize(verificationCacheSize);
+        // the revocation fast path: a Bloom filter miss
+        BloomFilter revoked = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(properties, revoked::mightContain);
+        filter = new JwtAuthenticationFilter(tokenProvider);
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+        request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object filter() throws ServletException, IOException {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Object legacyTripleParse() {
+        Object result = null;
+        for (int i = 0; i < 3; i++) {
+            result = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rate limiting one authenticated organization write (global, organization and user
+ * buckets) against {@link InProcessRateLimitStore}. {@code roundTripMicros} simulates the
+ * network and {@code leasing} serves decisions from leased tokens; {@code callPerLayer} checks
+ * the same buckets with one call each, as a per-layer design would.
+ * {@code roundTrips / operations} gives the Redis calls per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimitFilterBenchmark {
+
+    private static final int CAPACITY = Integer.MAX_VALUE;
+
+    @Param({"0", "200"})
+    private int roundTripMicros;
+
+    @Param({"false", "true"})
+    private boolean leasing;
+
+    private InProcessRateLimitStore store;
+    private LeasingRateLimitStore leasingStore;
+    private RateLimitFilter filter;
+    private MockHttpServletRequest request;
+    private List<RateLimitBucket> buckets;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long operations;
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            operations = 0;
+            roundTrips = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        store = new InProcessRateLimitStore(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros)));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRequests(CAPACITY);
+        properties.getUser().setRequests(CAPACITY);
+        properties.getOrganization().setRequests(CAPACITY);
+        properties.getLeasing().setEnabled(leasing);
+        RateLimitStore filterStore = store;
+        if (leasing) {
+            leasingStore = new LeasingRateLimitStore(store, store, properties.getLeasing());
+            filterStore = leasingStore;
+        }
+        filter = new RateLimitFilter(filterStore, properties,
+                new RateLimitMetrics(new SimpleMeterRegistry()), new ObjectMapper());
+        request = new MockHttpServletRequest("POST", "/api/organizations/42/awards");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        buckets = filter.bucketsFor(request.getRequestURI());
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (leasingStore != null) {
+            leasingStore.close();
+        }
+    }
+
+    @Benchmark
+    public Object filter(RoundTrips counters) throws ServletException, IOException {
+        long before = store.getRoundTrips();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        counters.operations++;
+        counters.roundTrips += store.getRoundTrips() - before;
+        return response;
+    }
+
+    @Benchmark
+    public boolean callPerLayer(RoundTrips counters) {
+        long before = store.getRoundTrips();
+        boolean allowed = true;
+        for (RateLimitBucket bucket : buckets) {
+            allowed &= store.consume(List.of(bucket), 1).join().allowed();
+        }
+        counters.operations++;
+        counters.roundTrips += store.getRoundTrips() - before;
+        return allowed;
+    }
+}
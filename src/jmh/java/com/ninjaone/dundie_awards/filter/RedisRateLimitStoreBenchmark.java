@@ -0,0 +1,104 @@
+package com.ninjaone.dundie_awards.filter;
+
+import io.lettuce.core.RedisClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write checks per second with 1,000 concurrent writers against a real Redis (needs Docker),
+ * each checking the global bucket and its own user bucket. {@code blocking} reproduces the
+ * former setup, where each check held one of Tomcat's 200 platform threads for the round trip;
+ * {@code async} waits on virtual threads instead, and {@code pipelined} also batches the
+ * queued commands into shared socket writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RedisRateLimitStoreBenchmark {
+
+    private static final int WRITERS = 1_000;
+    private static final int SERVLET_THREADS = 200;
+    private static final long CAPACITY = Integer.MAX_VALUE;
+
+    @Param({"blocking", "async", "pipelined"})
+    private String mode;
+
+    private GenericContainer<?> redis;
+    private RedisClient redisClient;
+    private RedisRateLimitStore store;
+    private ExecutorService writers;
+    private final List<List<RateLimitBucket>> buckets = new ArrayList<>(WRITERS);
+
+    @Setup
+    public void setUp() throws IOException {
+        redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+        redis.start();
+        redisClient = RedisClient.create("redis://" + redis.getHost() + ":" + redis.getMappedPort(6379));
+        store = new RedisRateLimitStore(redisClient, script("redis/write_rate_limit.lua"),
+                script("redis/write_rate_limit_lease.lua"), script("redis/rate_limit_nodes.lua"),
+                mode.equals("pipelined"), new RateLimitMetrics(new SimpleMeterRegistry()));
+        writers = mode.equals("blocking")
+                ? Executors.newFixedThreadPool(SERVLET_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        RateLimitBucket global = bucket(RateLimitLayer.GLOBAL, "api");
+        for (int i = 0; i < WRITERS; i++) {
+            buckets.add(List.of(global, bucket(RateLimitLayer.USER, "user-" + i)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        writers.shutdownNow();
+        store.close();
+        redisClient.shutdown();
+        redis.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITERS)
+    public int concurrentWriters() throws InterruptedException, ExecutionException {
+        List<Future<RateLimitDecision>> decisions = new ArrayList<>(WRITERS);
+        for (List<RateLimitBucket> writerBuckets : buckets) {
+            decisions.add(writers.submit(() -> store.consume(writerBuckets, 1).join()));
+        }
+        int allowed = 0;
+        for (Future<RateLimitDecision> decision : decisions) {
+            if (decision.get().allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private static RateLimitBucket bucket(RateLimitLayer layer, String id) {
+        return new RateLimitBucket(layer,
+                ("{write-rate-limit}:" + layer.getTag() + ":" + id).getBytes(StandardCharsets.UTF_8),
+                CAPACITY, TimeUnit.MINUTES.toMicros(1));
+    }
+
+    private static String script(String path) throws IOException {
+        return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.ninjaone.dundie_awards.DundieAwardsApplication;
+import com.ninjaone.dundie_awards.proto.EmployeeAwardsGrpc;
+import com.ninjaone.dundie_awards.proto.EmployeeMessage;
+import com.ninjaone.dundie_awards.proto.GetEmployeeRequest;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches one employee over loopback through {@code GET /api/employees/{id}} (JSON over HTTP/1.1)
+ * and through the gRPC {@code GetEmployee} call, against the same in-process application.
+ * Both paths go through JWT validation and the same service method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class GrpcVsRestBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest restRequest;
+    private ManagedChannel channel;
+    private EmployeeAwardsGrpc.EmployeeAwardsBlockingStub grpcStub;
+    private GetEmployeeRequest grpcRequest;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(DundieAwardsApplication.class)
+                .properties("server.port=0", "grpc.port=0", "spring.jpa.show-sql=false",
+                        "logging.level.com.ninjaone=WARN")
+                .run();
+        long employeeId = context.getBean(EmployeeRepository.class).findAll().get(0).getId();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(login.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + login.body());
+        }
+        String authorization = "Bearer " + matcher.group(1);
+
+        restRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees/" + employeeId))
+                .header("Authorization", authorization)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), authorization);
+        channel = NettyChannelBuilder.forAddress("localhost", context.getBean(GrpcServer.class).getPort())
+                .usePlaintext()
+                .build();
+        grpcStub = EmployeeAwardsGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+        grpcRequest = GetEmployeeRequest.newBuilder().setEmployeeId(employeeId).build();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] rest() throws IOException, InterruptedException {
+        return httpClient.send(restRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public EmployeeMessage grpc() {
+        return grpcStub.getEmployee(grpcRequest);
+    }
+}
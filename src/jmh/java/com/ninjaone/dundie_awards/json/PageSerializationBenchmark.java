@@ -0,0 +1,118 @@
+package com.ninjaone.dundie_awards.json;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ninjaone.dundie_awards.dto.PageResponse;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
+import com.ninjaone.dundie_awards.model.Activity;
+import com.ninjaone.dundie_awards.model.ActivityType;
+import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.Organization;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes one page of employees and activities the old way (eager {@code Page.map} plus
+ * reflective record serialization) and the new way (lazily mapped page plus
+ * {@link DtoSerializers}). Compare {@code gc.alloc.rate.norm} for bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "500"})
+    private int pageSize;
+
+    private final EmployeeMapper employeeMapper = Mappers.getMapper(EmployeeMapper.class);
+    private final ActivityMapper activityMapper = Mappers.getMapper(ActivityMapper.class);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter tunedWriter;
+    private Page<Employee> employees;
+    private Page<Activity> activities;
+
+    @Setup
+    public void setUp() {
+        reflectiveWriter = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        SimpleModule tuned = new SimpleModule()
+                .addSerializer(new DtoSerializers.EmployeeDtoSerializer())
+                .addSerializer(new DtoSerializers.OrganizationDtoSerializer())
+                .addSerializer(new DtoSerializers.ActivityDtoSerializer())
+                .addSerializer(new DtoSerializers.PageResponseSerializer());
+        tunedWriter = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(tuned)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        Organization organization = Organization.builder().name("Dunder Mifflin").build();
+        List<Employee> employeeRows = new ArrayList<>(pageSize);
+        List<Activity> activityRows = new ArrayList<>(pageSize);
+        Instant now = Instant.now();
+        for (int i = 0; i < pageSize; i++) {
+            Employee employee = Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .organization(organization)
+                    .dundieAwards(i % 7)
+                    .build();
+            employeeRows.add(employee);
+            activityRows.add(Activity.builder()
+                    .occurredAt(now.minusSeconds(i))
+                    .event(ActivityType.AWARD_GRANTED)
+                    .employee(employee)
+                    .build());
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        employees = new PageImpl<>(employeeRows, pageable, 10_000);
+        activities = new PageImpl<>(activityRows, pageable, 10_000);
+    }
+
+    @Benchmark
+    public void employeesReflective() throws IOException {
+        reflectiveWriter.writeValue(sink, PageResponse.from(employees.map(employeeMapper::toDto)));
+    }
+
+    @Benchmark
+    public void employeesTuned() throws IOException {
+        tunedWriter.writeValue(sink, PageResponse.from(employees, employeeMapper::toDto));
+    }
+
+    @Benchmark
+    public void activitiesReflective() throws IOException {
+        reflectiveWriter.writeValue(sink, PageResponse.from(activities.map(activityMapper::toDto)));
+    }
+
+    @Benchmark
+    public void activitiesTuned() throws IOException {
+        tunedWriter.writeValue(sink, PageResponse.from(activities, activityMapper::toDto));
+    }
+}
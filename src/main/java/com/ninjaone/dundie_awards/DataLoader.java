@@ -7,6 +7,7 @@ import com.ninjaone.dundie_awards.model.User;
 import com.ninjaone.dundie_awards.repository.EmployeeRepository;
 import com.ninjaone.dundie_awards.repository.OrganizationRepository;
 import com.ninjaone.dundie_awards.repository.UserRepository;
+import com.ninjaone.dundie_awards.service.WriteSequenceService;
 
 import lombok.NonNull;
 
@@ -24,15 +25,18 @@ public class DataLoader implements CommandLineRunner {
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final WriteSequenceService writeSequenceService;
 
     public DataLoader(EmployeeRepository employeeRepository, 
                      OrganizationRepository organizationRepository,
                      UserRepository userRepository,
-                     PasswordEncoder passwordEncoder) {
+                     PasswordEncoder passwordEncoder,
+                     WriteSequenceService writeSequenceService) {
         this.employeeRepository = employeeRepository;
         this.organizationRepository = organizationRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.writeSequenceService = writeSequenceService;
     }
 
     @Override
@@ -41,6 +45,8 @@ public class DataLoader implements CommandLineRunner {
         // employeeRepository.deleteAll();
         // organizationRepository.deleteAll();
 
+        writeSequenceService.initialize();
+
         // Create admin user if it doesn't exist
         if (!userRepository.existsByUsername("admin")) {
             User adminUser = User.builder()
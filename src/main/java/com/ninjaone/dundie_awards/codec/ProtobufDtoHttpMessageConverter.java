@@ -0,0 +1,81 @@
+package com.ninjaone.dundie_awards.codec;
+
+import com.google.protobuf.Message;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.ApiError;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+/**
+ * Write-only converter that serves the REST DTOs as Protobuf ({@code application/x-protobuf}).
+ * Unlike Spring's {@code ProtobufHttpMessageConverter} it accepts our DTOs rather than generated
+ * messages, so controllers stay format-agnostic.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final Set<Class<?>> DTO_TYPES = Set.of(
+            EmployeeDto.class, ActivityDto.class, OrganizationDto.class, ApiError.class);
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DTO_TYPES.contains(clazz) || PageResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType) || !supports(clazz)) {
+            return false;
+        }
+        return clazz != PageResponse.class || DTO_TYPES.contains(pageItemType(type));
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        Message message = ProtobufDtoMapper.toMessage(value, pageItemType(type));
+        outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    private static Class<?> pageItemType(@Nullable Type type) {
+        return type == null ? null : ResolvableType.forType(type).as(PageResponse.class).resolveGeneric(0);
+    }
+}
@@ -0,0 +1,185 @@
+package com.ninjaone.dundie_awards.codec;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.ApiError;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
+import com.ninjaone.dundie_awards.model.AwardType;
+import com.ninjaone.dundie_awards.proto.ActivityEvent;
+import com.ninjaone.dundie_awards.proto.ActivityMessage;
+import com.ninjaone.dundie_awards.proto.ActivityPage;
+import com.ninjaone.dundie_awards.proto.ApiErrorMessage;
+import com.ninjaone.dundie_awards.proto.EmployeeMessage;
+import com.ninjaone.dundie_awards.proto.EmployeePage;
+import com.ninjaone.dundie_awards.proto.OrganizationMessage;
+import com.ninjaone.dundie_awards.proto.OrganizationPage;
+import com.ninjaone.dundie_awards.proto.PageInfo;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Converts REST DTOs into the messages defined in {@code dundie_awards.proto}. Absent values
+ * are left unset; only fields declared {@code optional} let clients tell that apart from the
+ * default. Ids are not optional, and a persisted DTO always has them.
+ */
+public final class ProtobufDtoMapper {
+
+    private ProtobufDtoMapper() {
+    }
+
+    /**
+     * Converts any supported DTO. Pages need their item type, which erasure hides on an empty page.
+     */
+    public static Message toMessage(Object value, Class<?> pageItemType) {
+        if (value instanceof EmployeeDto employee) {
+            return toMessage(employee);
+        }
+        if (value instanceof ActivityDto activity) {
+            return toMessage(activity);
+        }
+        if (value instanceof OrganizationDto organization) {
+            return toMessage(organization);
+        }
+        if (value instanceof ApiError error) {
+            return toMessage(error);
+        }
+        if (value instanceof PageResponse<?> page) {
+            if (pageItemType == EmployeeDto.class) {
+                return toEmployeePage(cast(page));
+            }
+            if (pageItemType == ActivityDto.class) {
+                return toActivityPage(cast(page));
+            }
+            if (pageItemType == OrganizationDto.class) {
+                return toOrganizationPage(cast(page));
+            }
+        }
+        throw new IllegalArgumentException("No protobuf mapping for " + value.getClass().getName()
+                + (pageItemType != null ? "<" + pageItemType.getName() + ">" : ""));
+    }
+
+    public static EmployeeMessage toMessage(EmployeeDto employee) {
+        EmployeeMessage.Builder builder = EmployeeMessage.newBuilder();
+        if (employee.id() != null) {
+            builder.setId(employee.id());
+        }
+        if (employee.firstName() != null) {
+            builder.setFirstName(employee.firstName());
+        }
+        if (employee.lastName() != null) {
+            builder.setLastName(employee.lastName());
+        }
+        if (employee.organizationId() != null) {
+            builder.setOrganizationId(employee.organizationId());
+        }
+        if (employee.organizationName() != null) {
+            builder.setOrganizationName(employee.organizationName());
+        }
+        if (employee.dundieAwards() != null) {
+            builder.setDundieAwards(employee.dundieAwards());
+        }
+        if (employee.version() != null) {
+            builder.setVersion(employee.version());
+        }
+        if (employee.awardBreakdown() != null) {
+            for (Map.Entry<AwardType, Integer> entry : employee.awardBreakdown().entrySet()) {
+                builder.putAwardBreakdown(entry.getKey().name(), entry.getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    public static ActivityMessage toMessage(ActivityDto activity) {
+        ActivityMessage.Builder builder = ActivityMessage.newBuilder();
+        if (activity.id() != null) {
+            builder.setId(activity.id());
+        }
+        if (activity.occurredAt() != null) {
+            builder.setOccurredAt(toTimestamp(activity.occurredAt()));
+        }
+        if (activity.employeeId() != null) {
+            builder.setEmployeeId(activity.employeeId());
+        }
+        if (activity.event() != null) {
+            builder.setEvent(ActivityEvent.valueOf(activity.event().name()));
+        }
+        return builder.build();
+    }
+
+    public static OrganizationMessage toMessage(OrganizationDto organization) {
+        OrganizationMessage.Builder builder = OrganizationMessage.newBuilder();
+        if (organization.id() != null) {
+            builder.setId(organization.id());
+        }
+        if (organization.name() != null) {
+            builder.setName(organization.name());
+        }
+        return builder.build();
+    }
+
+    public static ApiErrorMessage toMessage(ApiError error) {
+        ApiErrorMessage.Builder builder = ApiErrorMessage.newBuilder()
+                .setStatus(error.getStatus());
+        if (error.getTimestamp() != null) {
+            builder.setTimestamp(toTimestamp(error.getTimestamp()));
+        }
+        if (error.getMessage() != null) {
+            builder.setMessage(error.getMessage());
+        }
+        if (error.getValidationErrors() != null) {
+            builder.putAllValidationErrors(error.getValidationErrors());
+        }
+        return builder.build();
+    }
+
+    public static EmployeePage toEmployeePage(PageResponse<EmployeeDto> page) {
+        EmployeePage.Builder builder = EmployeePage.newBuilder().setPage(toPageInfo(page));
+        for (EmployeeDto employee : page.items()) {
+            builder.addItems(toMessage(employee));
+        }
+        return builder.build();
+    }
+
+    public static ActivityPage toActivityPage(PageResponse<ActivityDto> page) {
+        ActivityPage.Builder builder = ActivityPage.newBuilder().setPage(toPageInfo(page));
+        for (ActivityDto activity : page.items()) {
+            builder.addItems(toMessage(activity));
+        }
+        return builder.build();
+    }
+
+    public static OrganizationPage toOrganizationPage(PageResponse<OrganizationDto> page) {
+        OrganizationPage.Builder builder = OrganizationPage.newBuilder().setPage(toPageInfo(page));
+        for (OrganizationDto organization : page.items()) {
+            builder.addItems(toMessage(organization));
+        }
+        return builder.build();
+    }
+
+    public static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+
+    private static PageInfo toPageInfo(PageResponse<?> page) {
+        return PageInfo.newBuilder()
+                .setPage(page.page())
+                .setSize(page.size())
+                .setTotalElements(page.totalElements())
+                .setTotalPages(page.totalPages())
+                .setFirst(page.first())
+                .setLast(page.last())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PageResponse<T> cast(PageResponse<?> page) {
+        return (PageResponse<T>) page;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ninjaone.dundie_awards.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.filter.Bulkhead;
+import com.ninjaone.dundie_awards.filter.BulkheadFilter;
+import com.ninjaone.dundie_awards.filter.EndpointGroup;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    private final BulkheadProperties bulkheadProperties;
+
+    @Bean
+    public BulkheadFilter bulkheadFilter(DataSource dataSource, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+        bulkheads.put(EndpointGroup.READS, bulkhead(EndpointGroup.READS, bulkheadProperties.getReads(), meterRegistry));
+        bulkheads.put(EndpointGroup.WRITES, bulkhead(EndpointGroup.WRITES, bulkheadProperties.getWrites(), meterRegistry));
+        bulkheads.put(EndpointGroup.BULK_WRITES, bulkhead(EndpointGroup.BULK_WRITES, bulkheadProperties.getBulkWrites(), meterRegistry));
+        bulkheads.put(EndpointGroup.AUTH, bulkhead(EndpointGroup.AUTH, bulkheadProperties.getAuth(), meterRegistry));
+
+        checkAgainstConnectionPool(dataSource, bulkheads);
+        return new BulkheadFilter(bulkheads, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilterRegistration(BulkheadFilter filter) {
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(filter);
+        registration.addUrlPatterns("/api/*", "/graphql");
+        registration.setOrder(2); // After rate limiting, so rejected writes never take a permit
+        registration.setName("bulkheadFilter");
+        return registration;
+    }
+
+    private Bulkhead bulkhead(EndpointGroup group, BulkheadProperties.Group config, MeterRegistry meterRegistry) {
+        log.info("Bulkhead {}: maxConcurrent={}, maxQueued={}, maxWait={}, adaptive={} (min {}, target {})",
+            group, config.getMaxConcurrent(), config.getMaxQueued(), config.getMaxWait(),
+            bulkheadProperties.getAdaptive().isEnabled(), config.getMinConcurrent(), config.getTargetLatency());
+        return new Bulkhead(group, config, bulkheadProperties.getAdaptive(), meterRegistry);
+    }
+
+    private void checkAgainstConnectionPool(DataSource dataSource, Map<EndpointGroup, Bulkhead> bulkheads) {
+        // the data source may be proxied for SQL statistics
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        if (hikari == null) {
+            return;
+        }
+        int total = bulkheads.values().stream().mapToInt(Bulkhead::getMaxConcurrent).sum();
+        int poolSize = hikari.getMaximumPoolSize();
+        if (total > poolSize) {
+            log.warn("Bulkheads allow {} concurrent requests but the Hikari pool has only {} connections; "
+                + "requests may queue on the pool", total, poolSize);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    private Adaptive adaptive = new Adaptive();
+    private Group reads = new Group(5, 200, Duration.ofSeconds(2), Duration.ofMillis(250));
+    private Group writes = new Group(2, 100, Duration.ofSeconds(2), Duration.ofMillis(500));
+    private Group bulkWrites = new Group(1, 4, Duration.ofMillis(500), Duration.ofSeconds(2));
+    private Group auth = new Group(2, 50, Duration.ofSeconds(1), Duration.ofMillis(500));
+
+    @Data
+    public static class Group {
+        /** Upper bound of the limit, and the limit itself when not adaptive. */
+        private int maxConcurrent;
+        private int minConcurrent = 1;
+        private int maxQueued;
+        private Duration maxWait;
+        /** Requests slower than this shrink the limit. */
+        private Duration targetLatency;
+
+        public Group() {
+        }
+
+        public Group(int maxConcurrent, int maxQueued, Duration maxWait, Duration targetLatency) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWait = maxWait;
+            this.targetLatency = targetLatency;
+        }
+    }
+
+    /** Adapts each group's limit to request latency, additive increase and multiplicative decrease. */
+    @Data
+    public static class Adaptive {
+        private boolean enabled = true;
+        /** Factor applied to the limit when a request exceeds its target latency. */
+        private double backoffRatio = 0.9;
+        /** Share of a group's limit that bulk requests (exports, anonymous calls) may hold. */
+        private double bulkShare = 0.5;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ninjaone.dundie_awards.config;
+
+import com.ninjaone.dundie_awards.jdbc.QueryObservationListener;
+import com.ninjaone.dundie_awards.jdbc.SqlStatisticsListener;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Proxies the data source so that statements are counted against the request that runs them
+ * ({@code sql-statistics.enabled}) and traced as spans. The pool behind the proxy is still
+ * reachable through {@link DataSource#unwrap}.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static QueryObservationListener queryObservationListener() {
+        return new QueryObservationListener();
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(Environment environment,
+                                                    QueryObservationListener queryObservationListener) {
+        boolean sqlStatistics = environment.getProperty("sql-statistics.enabled", Boolean.class, true);
+        SqlStatisticsListener sqlStatisticsListener = new SqlStatisticsListener();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(queryObservationListener);
+                if (sqlStatistics) {
+                    builder.listener(sqlStatisticsListener)
+                        .methodListener(sqlStatisticsListener)
+                        .proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton queryObservationRegistryBinder(QueryObservationListener queryObservationListener,
+                                                                     ObservationRegistry observationRegistry) {
+        return () -> queryObservationListener.setObservationRegistry(observationRegistry);
+    }
+}
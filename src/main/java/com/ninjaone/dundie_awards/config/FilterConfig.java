@@ -2,29 +2,34 @@ package com.ninjaone.dundie_awards.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ninjaone.dundie_awards.filter.RateLimitFilter;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.distributed.proxy.ProxyManager;
+import com.ninjaone.dundie_awards.filter.RateLimitMetrics;
+import com.ninjaone.dundie_awards.filter.RateLimitStore;
+import com.ninjaone.dundie_awards.filter.RequestCostEstimator;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.function.Supplier;
-
 @Configuration
 @ConditionalOnProperty(name = "rate-limit.write-operations.enabled", havingValue = "true", matchIfMissing = true)
 public class FilterConfig {
 
     @Bean
     public RateLimitFilter rateLimitFilter(
-            ProxyManager<byte[]> proxyManager,
-            Supplier<BucketConfiguration> bucketConfigurationSupplier,
-            RateLimitConfig rateLimitConfig,
+            RateLimitStore rateLimitStore,
+            RateLimitProperties rateLimitProperties,
+            RateLimitMetrics rateLimitMetrics,
+            ObjectProvider<RequestCostEstimator> costEstimators,
+            ObservationRegistry observationRegistry,
             ObjectMapper objectMapper) {
         return new RateLimitFilter(
-            proxyManager,
-            bucketConfigurationSupplier,
-            rateLimitConfig,
+            rateLimitStore,
+            rateLimitProperties,
+            rateLimitMetrics,
+            costEstimators.orderedStream().toList(),
+            observationRegistry,
             objectMapper
         );
     }
@@ -34,9 +39,8 @@ public class FilterConfig {
         FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(filter);
         registration.addUrlPatterns("/api/*");
-        registration.setOrder(1); // Run early in the filter chain
+        registration.setOrder(1); // After Spring Security (-100), so the per-user layer sees who is calling
         registration.setName("rateLimitFilter");
         return registration;
     }
 }
-
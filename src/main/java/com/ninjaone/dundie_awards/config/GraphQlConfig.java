@@ -0,0 +1,48 @@
+package com.ninjaone.dundie_awards.config;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rejects GraphQL queries that are too deep or would resolve too many fields before any
+ * data fetcher runs. Boot registers {@code Instrumentation} beans with the GraphQL engine.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlLimitProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    /**
+     * Each field costs 1; the selection under a list field is counted once per expected element,
+     * taken from its {@code size} argument, the recent-items or organization-employees limit,
+     * or the assumed list size.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlLimitProperties properties) {
+        FieldComplexityCalculator calculator = (environment, childComplexity) -> {
+            if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()))) {
+                return 1 + childComplexity;
+            }
+            int elements;
+            if (environment.getArguments().get("size") instanceof Integer size) {
+                elements = size;
+            } else if (environment.getField().getName().startsWith("recent")) {
+                elements = properties.getRecentItems();
+            } else if (environment.getField().getName().equals("employees")) {
+                // Organization.employees; Query.employees always has a size
+                elements = properties.getOrganizationEmployees();
+            } else {
+                elements = properties.getAssumedListSize();
+            }
+            return 1 + childComplexity * Math.max(elements, 1);
+        };
+        return new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(), calculator);
+    }
+}
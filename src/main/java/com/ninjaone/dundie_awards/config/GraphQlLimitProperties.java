@@ -0,0 +1,23 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "graphql")
+public class GraphQlLimitProperties {
+    /** Deepest field nesting a query may use. */
+    private int maxDepth = 6;
+    /** Upper bound on the estimated number of fields a query resolves, see {@code GraphQlConfig}. */
+    private int maxComplexity = 2000;
+    /** Largest {@code size} accepted by paged queries. */
+    private int maxPageSize = 100;
+    /** How many awards and activities {@code recentAwards}/{@code recentActivities} return per employee. */
+    private int recentItems = 10;
+    /** How many employees {@code Organization.employees} returns per organization, first by id. */
+    private int organizationEmployees = 20;
+    /** Assumed length of list fields without a {@code size} argument when estimating complexity. */
+    private int assumedListSize = 20;
+}
@@ -0,0 +1,18 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "grpc")
+public class GrpcProperties {
+    private boolean enabled = true;
+    /** Port of the gRPC server; 0 picks a free port. */
+    private int port = 9090;
+    /** How often the activity feed polls for new activities while someone is watching. */
+    private Duration activityPollInterval = Duration.ofMillis(500);
+}
@@ -0,0 +1,62 @@
+package com.ninjaone.dundie_awards.config;
+
+import com.ninjaone.dundie_awards.grpc.ActivityFeed;
+import com.ninjaone.dundie_awards.grpc.EmployeeAwardsGrpcService;
+import com.ninjaone.dundie_awards.grpc.GrpcServer;
+import com.ninjaone.dundie_awards.grpc.JwtServerInterceptor;
+import com.ninjaone.dundie_awards.grpc.WriteLimitServerInterceptor;
+import com.ninjaone.dundie_awards.filter.BulkheadFilter;
+import com.ninjaone.dundie_awards.filter.RateLimitFilter;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.service.EmployeeService;
+import com.ninjaone.dundie_awards.service.OrganizationService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfig {
+
+    @Bean
+    public ActivityFeed activityFeed(ActivityRepository activityRepository,
+                                     ActivityMapper activityMapper,
+                                     GrpcProperties grpcProperties) {
+        return new ActivityFeed(activityRepository, activityMapper, grpcProperties.getActivityPollInterval());
+    }
+
+    @Bean
+    public EmployeeAwardsGrpcService employeeAwardsGrpcService(EmployeeService employeeService,
+                                                               OrganizationService organizationService,
+                                                               ActivityFeed activityFeed) {
+        return new EmployeeAwardsGrpcService(employeeService, organizationService, activityFeed);
+    }
+
+    /**
+     * Limits gRPC writes with the REST filters' own limiters, whichever of them are enabled.
+     */
+    @Bean
+    public WriteLimitServerInterceptor writeLimitServerInterceptor(ObjectProvider<RateLimitFilter> rateLimitFilter,
+                                                                   ObjectProvider<BulkheadFilter> bulkheadFilter) {
+        return new WriteLimitServerInterceptor(rateLimitFilter.getIfAvailable(), bulkheadFilter.getIfAvailable());
+    }
+
+    @Bean
+    public GrpcServer grpcServer(GrpcProperties grpcProperties,
+                                 EmployeeAwardsGrpcService employeeAwardsGrpcService,
+                                 JwtTokenProvider jwtTokenProvider,
+                                 WriteLimitServerInterceptor writeLimitServerInterceptor,
+                                 ActivityFeed activityFeed) {
+        return new GrpcServer(
+                grpcProperties.getPort(),
+                List.of(employeeAwardsGrpcService),
+                // authenticate first: write limits are charged to the caller
+                List.of(new JwtServerInterceptor(jwtTokenProvider), writeLimitServerInterceptor),
+                activityFeed
+        );
+    }
+}
@@ -1,12 +1,16 @@
 package com.ninjaone.dundie_awards.config;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Data
 @Component
 @Validated
@@ -16,6 +20,14 @@ public class JwtProperties {
     private String secret = "your-256-bit-secret-key-change-this-in-production-minimum-32-characters";
     
     @Positive(message = "JWT expiration must be positive")
-    private long expiration = 86400000; // 24 hours in milliseconds
+    private long expiration = 900000; // access token lifetime, 15 minutes in milliseconds
+
+    /** Lifetime of each refresh token; every refresh issues a new one. */
+    @NotNull(message = "Refresh token expiration must be set")
+    private Duration refreshExpiration = Duration.ofDays(14);
+
+    /** Verified tokens remembered until they expire; 0 verifies every request. */
+    @PositiveOrZero(message = "JWT verification cache size must not be negative")
+    private long verificationCacheSize = 10_000;
 }
 
@@ -1,28 +1,69 @@
 package com.ninjaone.dundie_awards.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    /** Distinct authority claims are few (one per role combination); past this, lists are not interned. */
+    private static final int MAX_INTERNED_AUTHORITY_LISTS = 256;
+
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final TokenRevocationList revocationList;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Map<String, List<GrantedAuthority>> authorityLists = new ConcurrentHashMap<>();
+
+    /**
+     * The parts of a verified token that authentication needs. {@code authorities} is an
+     * immutable list shared by all tokens with the same authorities claim; {@code tokenId} is
+     * the {@code jti}, absent on tokens issued before it was added.
+     */
+    public record VerifiedToken(String tokenId, String username, List<GrantedAuthority> authorities,
+                                Instant expiresAt) {
+    }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(JwtProperties jwtProperties, TokenRevocationList revocationList) {
+        this.jwtProperties = jwtProperties;
+        this.revocationList = revocationList;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = jwtProperties.getVerificationCacheSize() > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtProperties.getVerificationCacheSize())
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
     }
 
     public String generateToken(Authentication authentication) {
@@ -36,29 +77,38 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtProperties.getExpiration());
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .claim("authorities", authorities.isEmpty() ? null : authorities)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its username, authorities and expiry. Tokens seen
+     * before are answered from a cache keyed by their SHA-256 digest until they expire, so
+     * the signature is not re-checked on every request. Revocation is checked every time.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged, expired or revoked
+     */
+    @Timed(value = "jwt.verification", histogram = true)
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifySignature(token);
+        if (verified.tokenId() != null && revocationList.isRevoked(verified.tokenId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return verified;
+    }
+
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verify(token).username();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (Exception e) {
             log.error("JWT validation error: {}", e.getMessage());
@@ -67,11 +117,79 @@ public class JwtTokenProvider {
     }
 
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private VerifiedToken verifySignature(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken verified = parse(token);
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = getClaimsFromToken(token);
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                authorities(claims.get("authorities", String.class)),
+                expiration == null ? null : expiration.toInstant());
+    }
+
+    private List<GrantedAuthority> authorities(String claim) {
+        if (claim == null || claim.isEmpty()) {
+            return List.of();
+        }
+        List<GrantedAuthority> interned = authorityLists.get(claim);
+        if (interned != null) {
+            return interned;
+        }
+        List<GrantedAuthority> parsed = Arrays.stream(claim.split(","))
+                .filter(auth -> !auth.isEmpty())
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        if (authorityLists.size() >= MAX_INTERNED_AUTHORITY_LISTS) {
+            return parsed;
+        }
+        List<GrantedAuthority> previous = authorityLists.putIfAbsent(claim, parsed);
+        return previous != null ? previous : parsed;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
 
+    /** Cache entries live exactly as long as the token they were verified from. */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ninjaone.dundie_awards.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Records {@code @Observed} beans, the controllers ({@code controller.calls}) and services
+ * ({@code service.calls}), as a timer tagged with class and method plus a span, and
+ * {@code @Timed} ones such as JWT verification as a timer only. Requests are timed by Spring
+ * MVC as {@code http.server.requests}; Hikari and Hibernate metrics are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+    /** BCrypt log rounds for new hashes; stored hashes with fewer rounds are upgraded on login. */
+    private int bcryptStrength = 10;
+    /** Threads that run BCrypt; keep below the core count so hashing cannot starve API traffic. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /** Hash requests waiting for a thread; beyond this, logins are rejected with 503. */
+    private int queueCapacity = 64;
+    /** Longest a caller waits for its hash, queue time included, before giving up with 503. */
+    private Duration maxWait = Duration.ofSeconds(2);
+}
@@ -0,0 +1,56 @@
+package com.ninjaone.dundie_awards.config;
+
+import com.ninjaone.dundie_awards.filter.RequestProfilingFilter;
+import com.ninjaone.dundie_awards.jfr.FlushStageListener;
+import com.ninjaone.dundie_awards.jfr.RequestStageAspect;
+import com.ninjaone.dundie_awards.jfr.SerializationStageAdvice;
+import com.ninjaone.dundie_awards.service.ProfilingService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request stage timing: filters (JWT, rate limit, bulkhead wait), service methods,
+ * repository calls, Hibernate flushes and response serialization. See
+ * {@link com.ninjaone.dundie_awards.jfr.RequestProfile}.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfig implements WebMvcConfigurer {
+
+    private final SerializationStageAdvice serializationStageAdvice;
+
+    @Bean
+    public RequestStageAspect requestStageAspect() {
+        return new RequestStageAspect();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer flushStageListenerCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+            FlushStageListener.class.getName());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilterRegistration(
+            ProfilingService profilingService, ProfilingProperties properties) {
+        FilterRegistrationBean<RequestProfilingFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new RequestProfilingFilter(profilingService, properties.getSlowRequestThreshold()));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2); // outside SQL statistics, to read them
+        registration.setName("requestProfilingFilter");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serializationStageAdvice);
+    }
+}
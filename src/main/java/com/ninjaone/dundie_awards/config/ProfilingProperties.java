@@ -0,0 +1,29 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "profiling")
+public class ProfilingProperties {
+    /** Times the stages of each request; stage events are recorded only while a recording runs. */
+    private boolean enabled = true;
+    private Duration slowRequestThreshold = Duration.ofSeconds(1);
+    private int slowRequestsRetained = 50;
+    private Recording recording = new Recording();
+
+    @Data
+    public static class Recording {
+        /** JFR settings: {@code default} or the more detailed {@code profile}. */
+        private String settings = "profile";
+        private Duration maxAge = Duration.ofMinutes(10);
+        private DataSize maxSize = DataSize.ofMegabytes(100);
+        /** Stops a forgotten recording. */
+        private Duration maxDuration = Duration.ofMinutes(30);
+    }
+}
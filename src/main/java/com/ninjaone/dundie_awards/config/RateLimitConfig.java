@@ -1,20 +1,33 @@
 package com.ninjaone.dundie_awards.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
-import io.github.bucket4j.distributed.proxy.ProxyManager;
-import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import com.ninjaone.dundie_awards.filter.CircuitBreakingRateLimitStore;
+import com.ninjaone.dundie_awards.filter.LeasingRateLimitStore;
+import com.ninjaone.dundie_awards.filter.OrganizationAwardCostEstimator;
+import com.ninjaone.dundie_awards.filter.RateLimitMetrics;
+import com.ninjaone.dundie_awards.filter.RateLimitStore;
+import com.ninjaone.dundie_awards.filter.RedisRateLimitStore;
+import com.ninjaone.dundie_awards.filter.RequestCostEstimator;
+import com.ninjaone.dundie_awards.service.OrganizationSizeService;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.lettuce.core.RedisClient;
-import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.function.Supplier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Configuration
@@ -25,54 +38,93 @@ public class RateLimitConfig {
     private final RateLimitProperties rateLimitProperties;
     private final RedisConnectionProperties redisConnectionProperties;
 
+    /** Traces each Redis command as a child span of the rate limit check that sent it. */
     @Bean(destroyMethod = "shutdown")
-    public RedisClient redisClient() {
+    public ClientResources rateLimitClientResources(ObservationRegistry observationRegistry) {
+        return ClientResources.builder()
+            .tracing(new MicrometerTracing(observationRegistry, "dundie-awards-rate-limit"))
+            .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient redisClient(ClientResources rateLimitClientResources) {
         String redisUrl = String.format("redis://%s:%d", 
             redisConnectionProperties.getHost(), 
             redisConnectionProperties.getPort());
-        log.info("Initializing Redis client for Bucket4j at {}", redisUrl);
-        return RedisClient.create(redisUrl);
+        log.info("Initializing Redis client for rate limiting at {}", redisUrl);
+        return RedisClient.create(rateLimitClientResources, redisUrl);
     }
 
-    @Bean(destroyMethod = "close")
-    public StatefulRedisConnection<byte[], byte[]> redisConnection(RedisClient redisClient) {
-        return redisClient.connect(io.lettuce.core.codec.ByteArrayCodec.INSTANCE);
+    @Bean
+    public RateLimitMetrics rateLimitMetrics(MeterRegistry meterRegistry) {
+        return new RateLimitMetrics(meterRegistry);
     }
 
+    /**
+     * Closed before the Redis client; each wrapper closes the store it wraps, so a leasing
+     * store still hands its tokens back before the Redis store's connection goes.
+     */
     @Bean
-    @SuppressWarnings("deprecation")
-    public ProxyManager<byte[]> proxyManager(StatefulRedisConnection<byte[], byte[]> connection) {
-        log.info("Initializing Bucket4j Redis ProxyManager");
-        return LettuceBasedProxyManager.builderFor(connection)
-            .withExpirationStrategy(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(
-                Duration.ofMinutes(rateLimitProperties.getWindowMinutes() * 2)))
-            .build();
+    public RateLimitStore rateLimitStore(RedisClient redisClient, RateLimitMetrics metrics) throws IOException {
+        RedisRateLimitStore redisStore = new RedisRateLimitStore(redisClient,
+            script("redis/write_rate_limit.lua"), script("redis/write_rate_limit_lease.lua"),
+            script("redis/rate_limit_nodes.lua"), rateLimitProperties.isPipelining(), metrics);
+        RateLimitStore store = redisStore;
+        if (rateLimitProperties.getLeasing().isEnabled()) {
+            log.info("Rate limiting from leased tokens ({}% of each bucket per node)",
+                Math.round(rateLimitProperties.getLeasing().getLeaseFraction() * 100));
+            warnAboutLimitsTooSmallToLease();
+            store = new LeasingRateLimitStore(redisStore, redisStore, rateLimitProperties.getLeasing());
+        }
+        if (rateLimitProperties.getCircuitBreaker().isEnabled()) {
+            store = new CircuitBreakingRateLimitStore(store, redisStore, rateLimitProperties.getCircuitBreaker(),
+                longestWindow(), metrics);
+        }
+        return store;
+    }
+
+    private void warnAboutLimitsTooSmallToLease() {
+        double leaseFraction = rateLimitProperties.getLeasing().getLeaseFraction();
+        Map<String, RateLimitProperties.Layer> limits = new LinkedHashMap<>();
+        limits.put("global", new RateLimitProperties.Layer(true, rateLimitProperties.getRequests(),
+            rateLimitProperties.getWindowMinutes()));
+        limits.put("user", rateLimitProperties.getUser());
+        limits.put("organization", rateLimitProperties.getOrganization());
+        limits.forEach((name, limit) -> {
+            if (limit.isEnabled() && (long) (limit.getRequests() * leaseFraction) <= 1) {
+                log.warn("The {} limit of {} requests leases at most one token at lease-fraction {}; "
+                    + "its buckets are checked in Redis on every write", name, limit.getRequests(), leaseFraction);
+            }
+        });
     }
 
     @Bean
-    public Supplier<BucketConfiguration> bucketConfigurationSupplier() {
-        return () -> {
-            Bandwidth limit = Bandwidth.builder()
-                .capacity(rateLimitProperties.getRequests())
-                .refillIntervally(rateLimitProperties.getRequests(), 
-                    Duration.ofMinutes(rateLimitProperties.getWindowMinutes()))
-                .build();
-            return BucketConfiguration.builder()
-                .addLimit(limit)
-                .build();
-        };
+    public RequestCostEstimator organizationAwardCostEstimator(OrganizationSizeService organizationSizeService) {
+        return new OrganizationAwardCostEstimator(organizationSizeService::employeeCount,
+            rateLimitProperties.getCost().getEmployeesPerToken());
     }
 
-    public int getRequestsPerMinute() {
-        return rateLimitProperties.getRequests();
+    /** Reports whether writes are limited through Redis or, during an outage, locally. */
+    @Bean
+    public HealthIndicator rateLimitHealthIndicator(RateLimitStore rateLimitStore) {
+        if (!(rateLimitStore instanceof CircuitBreakingRateLimitStore circuitBreaker)) {
+            return () -> Health.up().withDetail("mode", CircuitBreakingRateLimitStore.Mode.DISTRIBUTED.getTag()).build();
+        }
+        return () -> Health.up()
+            .withDetail("mode", circuitBreaker.getMode().getTag())
+            .withDetail("liveNodes", circuitBreaker.getLiveNodes())
+            .build();
     }
 
-    public int getWindowMinutes() {
-        return rateLimitProperties.getWindowMinutes();
+    private Duration longestWindow() {
+        int minutes = IntStream.of(rateLimitProperties.getWindowMinutes(),
+                rateLimitProperties.getUser().getWindowMinutes(),
+                rateLimitProperties.getOrganization().getWindowMinutes())
+            .max().orElse(1);
+        return Duration.ofMinutes(minutes);
     }
 
-    public boolean isEnabled() {
-        return rateLimitProperties.isEnabled();
+    private static String script(String path) throws IOException {
+        return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
     }
 }
-
@@ -1,9 +1,18 @@
 package com.ninjaone.dundie_awards.config;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
+/**
+ * Write limits. The top-level {@code requests}/{@code window-minutes} are the cluster-wide
+ * budget; {@code user} and {@code organization} are per authenticated user and per target
+ * organization. A write must fit in every layer that applies to it.
+ */
 @Data
 @Component
 @ConfigurationProperties(prefix = "rate-limit.write-operations")
@@ -11,5 +20,73 @@ public class RateLimitProperties {
     private int requests = 100;
     private int windowMinutes = 1;
     private boolean enabled = true;
-}
+    /** Longest a write waits for a decision; past it the write is let through like on any Redis error. */
+    private Duration timeout = Duration.ofMillis(500);
+    /** Write concurrent checks to Redis in one batch instead of one socket write per command. */
+    private boolean pipelining = true;
+    private Layer user = new Layer(true, 30, 1);
+    private Layer organization = new Layer(true, 60, 1);
+    private Leasing leasing = new Leasing();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Cost cost = new Cost();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Layer {
+        private boolean enabled = true;
+        private int requests;
+        private int windowMinutes = 1;
+    }
 
+    /**
+     * Serve decisions from chunks of tokens leased per node instead of one Redis call each.
+     * Buckets are never overspent; with n nodes up to {@code n * leaseFraction} of a bucket
+     * may be held by other nodes, which bounds how early a request can be rejected.
+     */
+    @Data
+    public static class Leasing {
+        private boolean enabled = false;
+        /**
+         * Share of a bucket's capacity a node leases at once. Buckets where this is one token or
+         * less are not leased and cost a Redis call on every write; at 0.1 that takes under 20 requests.
+         */
+        private double leaseFraction = 0.1;
+        /** Renew in the background once the lease falls below this share of its size. */
+        private double renewBelow = 0.25;
+        /** Unused leases are handed back after this long, bounding how long tokens sit idle. */
+        private Duration leaseTtl = Duration.ofSeconds(10);
+        /** A renewal slower than this stops holding up its lease; the next dry request sends another. */
+        private Duration renewTimeout = Duration.ofMillis(200);
+    }
+
+    /**
+     * Token cost of bulk writes. A write never costs more than its smallest bucket holds, so
+     * the largest bulk write empties that bucket rather than being rejected forever.
+     */
+    @Data
+    public static class Cost {
+        /** {@code POST /api/organizations/{id}/awards} costs one token per this many employees. */
+        private int employeesPerToken = 100;
+        private long countCacheSize = 10_000;
+        /** How long a cached employee count is used for pricing. */
+        private Duration countCacheTtl = Duration.ofMinutes(1);
+    }
+
+    /**
+     * While Redis is unreachable, limit writes on each node to its share of every limit
+     * (divided by the number of live nodes) instead of letting them all through.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        /** Consecutive failed or timed out Redis calls that switch to local limits. */
+        private int failureThreshold = 5;
+        /** A Redis call slower than this counts as failed; keep it below {@code timeout}. */
+        private Duration callTimeout = Duration.ofMillis(200);
+        /** How long to stay on local limits before probing Redis again. */
+        private Duration openDuration = Duration.ofSeconds(10);
+        /** How often nodes report themselves live; a node missing three reports is not counted. */
+        private Duration heartbeatInterval = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ninjaone.dundie_awards.config;
+
+import com.ninjaone.dundie_awards.filter.SqlStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Counts the statements each request runs through the proxied data source, see
+ * {@link DataSourceProxyConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql-statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilterRegistration(
+            SqlStatisticsProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new SqlStatisticsFilter(properties, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1); // so user lookups during authentication count
+        registration.setName("sqlStatisticsFilter");
+        return registration;
+    }
+}
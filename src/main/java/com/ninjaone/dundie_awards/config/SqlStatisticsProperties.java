@@ -0,0 +1,16 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "sql-statistics")
+public class SqlStatisticsProperties {
+    private boolean enabled = true;
+    /** Adds an {@code X-SQL-Statistics} header to every response; for local debugging only. */
+    private boolean debugHeader = false;
+    /** Warns when one request runs the same statement shape this many times. */
+    private int repeatedStatementThreshold = 10;
+}
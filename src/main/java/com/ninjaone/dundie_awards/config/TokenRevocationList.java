@@ -0,0 +1,12 @@
+package com.ninjaone.dundie_awards.config;
+
+/**
+ * Consulted by {@link JwtTokenProvider} on every verification, cached tokens included.
+ */
+@FunctionalInterface
+public interface TokenRevocationList {
+
+    TokenRevocationList NONE = tokenId -> false;
+
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,18 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "token-revocation")
+public class TokenRevocationProperties {
+    /** How often revocations made on other nodes are pulled in; the most a revoked token stays usable there. */
+    private Duration syncInterval = Duration.ofSeconds(5);
+    /** How often the Bloom filter is rebuilt without expired entries. */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,27 @@
+package com.ninjaone.dundie_awards.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.tracing.LocalSpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spans come from observations: Spring MVC's server span, {@code @Observed} controllers and
+ * services, the rate limit and JWT filters, Redis commands and JDBC statements (see
+ * {@link DataSourceProxyConfig}). Spring Boot exports them to every {@code SpanExporter} bean.
+ */
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.local-exporter.enabled", havingValue = "true")
+    public LocalSpanExporter localSpanExporter(TracingProperties tracingProperties, ObjectMapper objectMapper) {
+        TracingProperties.LocalExporter config = tracingProperties.getLocalExporter();
+        log.info("Exporting spans locally: last {} in memory{}", config.getMaxSpans(),
+            config.getFile() != null ? ", appended to " + config.getFile() : "");
+        return new LocalSpanExporter(config.getMaxSpans(), config.getFile(), objectMapper);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/** Sampling is {@code management.tracing.sampling.probability}. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+    private LocalExporter localExporter = new LocalExporter();
+
+    @Data
+    public static class LocalExporter {
+        private boolean enabled = false;
+        /** Spans kept in memory. */
+        private int maxSpans = 1000;
+        /** Also appends spans to this file as JSON lines. */
+        private Path file;
+    }
+}
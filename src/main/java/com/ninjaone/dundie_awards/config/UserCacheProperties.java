@@ -0,0 +1,20 @@
+package com.ninjaone.dundie_awards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "user-cache")
+public class UserCacheProperties {
+    private long maxSize = 10_000;
+    /** Upper bound on staleness for changes made by other nodes, which are not invalidated here. */
+    private Duration ttl = Duration.ofMinutes(10);
+    /** Service accounts loaded into the cache at startup. */
+    private List<String> prewarmUsernames = new ArrayList<>();
+}
@@ -3,6 +3,8 @@ package com.ninjaone.dundie_awards.controller;
 import com.ninjaone.dundie_awards.dto.ActivityDto;
 import com.ninjaone.dundie_awards.dto.PageResponse;
 import com.ninjaone.dundie_awards.service.ActivityService;
+import com.ninjaone.dundie_awards.service.StreamingReadService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,26 +13,39 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/activities")
 @Tag(name = "Activities", description = "API endpoints for managing activities")
 @SecurityRequirement(name = "bearer-jwt")
+@Observed(name = "controller.calls")
 public class ActivityController {
 
     private final ActivityService service;
+    private final StreamingReadService streamingReadService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public ActivityController(ActivityService service) {
+    public ActivityController(ActivityService service,
+                              StreamingReadService streamingReadService,
+                              NdjsonResponseWriter ndjsonResponseWriter) {
         this.service = service;
+        this.streamingReadService = streamingReadService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @Operation(
             summary = "Get all activities",
-            description = "Retrieves a paginated list of all activities"
+            description = "Retrieves a paginated list of all activities. Served as JSON by default, or as Smile, CBOR or Protobuf according to the Accept header"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -38,6 +53,10 @@ public class ActivityController {
                     description = "Activities retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PageResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - authentication required"
@@ -46,9 +65,28 @@ public class ActivityController {
     @GetMapping
     public PageResponse<ActivityDto> getAllActivities(
             @Parameter(description = "Pagination parameters (page, size, sort)")
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest webRequest) {
         log.info("GET /api/activities - page={}, size={}, sort={}", 
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-        return PageResponse.from(service.getAllActivities(pageable));
+        String eTag = ETags.forSequence(service.getActivitiesVersion(), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return service.getActivityPage(pageable);
+    }
+
+    @Operation(
+            summary = "Stream all activities",
+            description = "Streams every activity as newline-delimited JSON when requested with Accept: application/x-ndjson"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Activities streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllActivities(HttpServletResponse response) throws IOException {
+        log.info("GET /api/activities - streaming as NDJSON");
+        ndjsonResponseWriter.<ActivityDto>write(response, streamingReadService::streamActivities);
     }
 }
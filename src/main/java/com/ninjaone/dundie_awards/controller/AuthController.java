@@ -1,8 +1,12 @@
 package com.ninjaone.dundie_awards.controller;
 
-import com.ninjaone.dundie_awards.config.JwtTokenProvider;
 import com.ninjaone.dundie_awards.dto.JwtAuthenticationResponse;
 import com.ninjaone.dundie_awards.dto.LoginRequest;
+import com.ninjaone.dundie_awards.dto.LogoutRequest;
+import com.ninjaone.dundie_awards.dto.RefreshTokenRequest;
+import com.ninjaone.dundie_awards.service.RefreshTokenService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,6 +24,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -27,10 +33,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Tag(name = "Authentication", description = "Authentication endpoints for obtaining JWT tokens")
+@Observed(name = "controller.calls")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthenticationManager authenticationManager;
-    private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
 
     @Operation(
             summary = "Authenticate user",
@@ -63,9 +72,63 @@ public class AuthController {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        return ResponseEntity.ok(refreshTokenService.issueTokens(authentication));
+    }
 
-        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, loginRequest.username()));
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. "
+                    + "Each refresh token can be used once; reusing one revokes every token issued from the same login."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = JwtAuthenticationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request - validation errors"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Refresh token unknown, expired, revoked or already used"
+            )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtAuthenticationResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("POST /api/auth/refresh");
+        return ResponseEntity.ok(refreshTokenService.refresh(request.refreshToken()));
     }
-}
 
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the bearer access token before its expiry and, when a refresh token is given, "
+                    + "every refresh token issued from the same login"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Tokens revoked"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Access token expired or was revoked after it was accepted, e.g. by a concurrent logout"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Missing, invalid or already revoked access token"
+            )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) LogoutRequest request) {
+        log.info("POST /api/auth/logout");
+        if (!authorization.startsWith(BEARER_PREFIX)) {
+            throw new JwtException("Authorization header is not a bearer token");
+        }
+        refreshTokenService.logout(authorization.substring(BEARER_PREFIX.length()),
+                request == null ? null : request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.codec.ProtobufDtoHttpMessageConverter;
+import com.ninjaone.dundie_awards.exception.PreconditionFailedException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strong ETags derived from row versions ({@code "v<version>"}) and collection write
+ * sequences ({@code "s<sequence>"}), so they never require serializing the body. The same
+ * resource is served in several encodings, and a strong tag names one representation, so
+ * every encoding but JSON gets its own suffix (e.g. {@code "v3-cbor"}).
+ */
+final class ETags {
+
+    /** In converter order, so the first one a wildcard accepts is the one Spring MVC picks. */
+    private static final Map<MediaType, String> SUFFIXES = orderedSuffixes();
+
+    private ETags() {
+    }
+
+    static String forVersion(long version, String accept) {
+        return "\"v" + version + suffix(accept) + "\"";
+    }
+
+    static String forSequence(long sequence, String accept) {
+        return "\"s" + sequence + suffix(accept) + "\"";
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the expected row version, or {@code null} when the
+     * header is absent or {@code *}. If-Match uses strong comparison, so weak or foreign tags can
+     * never match and fail the precondition. Every representation of a version matches it.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 3 && tag.startsWith("\"v") && tag.endsWith("\"")) {
+            String value = tag.substring(2, tag.length() - 1);
+            for (String suffix : SUFFIXES.values()) {
+                if (!suffix.isEmpty() && value.endsWith(suffix)) {
+                    value = value.substring(0, value.length() - suffix.length());
+                    break;
+                }
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+    }
+
+    /**
+     * The suffix of the encoding the {@code Accept} header selects: the highest quality accepted
+     * type, more specific types first on a tie, matched against the encodings in converter order.
+     */
+    static String suffix(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        Comparator<MediaType> byPreference = Comparator
+                .comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(type -> type.isWildcardType() ? 2 : type.isWildcardSubtype() ? 1 : 0);
+        return accepted.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .sorted(byPreference)
+                .flatMap(type -> SUFFIXES.entrySet().stream().filter(entry -> type.includes(entry.getKey())))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("");
+    }
+
+    private static Map<MediaType, String> orderedSuffixes() {
+        Map<MediaType, String> suffixes = new LinkedHashMap<>();
+        suffixes.put(MediaType.APPLICATION_JSON, "");
+        suffixes.put(new MediaType("application", "x-jackson-smile"), "-smile");
+        suffixes.put(new MediaType("application", "cbor"), "-cbor");
+        suffixes.put(ProtobufDtoHttpMessageConverter.PROTOBUF, "-protobuf");
+        return Collections.unmodifiableMap(suffixes);
+    }
+}
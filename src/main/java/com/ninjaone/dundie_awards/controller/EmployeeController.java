@@ -5,7 +5,10 @@ import com.ninjaone.dundie_awards.dto.EmployeeDto;
 import com.ninjaone.dundie_awards.dto.EmployeeRequest;
 import com.ninjaone.dundie_awards.dto.PageResponse;
 import com.ninjaone.dundie_awards.dto.UpdateEmployeeRequest;
+import com.ninjaone.dundie_awards.model.AwardType;
 import com.ninjaone.dundie_awards.service.EmployeeService;
+import com.ninjaone.dundie_awards.service.StreamingReadService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,28 +17,42 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/employees")
 @Tag(name = "Employees", description = "API endpoints for managing employees and their awards")
 @SecurityRequirement(name = "bearer-jwt")
+@Observed(name = "controller.calls")
 public class EmployeeController {
 
     private final EmployeeService service;
+    private final StreamingReadService streamingReadService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public EmployeeController(EmployeeService service) {
+    public EmployeeController(EmployeeService service,
+                              StreamingReadService streamingReadService,
+                              NdjsonResponseWriter ndjsonResponseWriter) {
         this.service = service;
+        this.streamingReadService = streamingReadService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @Operation(
             summary = "Get all employees",
-            description = "Retrieves a paginated list of all employees"
+            description = "Retrieves a paginated list of all employees. Served as JSON by default, or as Smile, CBOR or Protobuf according to the Accept header"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -43,15 +60,37 @@ public class EmployeeController {
                     description = "Employees retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PageResponse.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
     })
     @GetMapping
     public PageResponse<EmployeeDto> getAllEmployees(
             @Parameter(description = "Pagination parameters (page, size, sort)")
-            Pageable pageable) {
+            Pageable pageable,
+            @Parameter(description = "Include per-award-type counts in each employee")
+            @RequestParam(name = "includeAwardBreakdown", defaultValue = "false") boolean includeAwardBreakdown,
+            WebRequest webRequest) {
         log.info("GET /api/employees - page={}, size={}, sort={}", 
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-        return PageResponse.from(service.getAllEmployees(pageable));
+        String eTag = ETags.forSequence(service.getEmployeesVersion(), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return service.getEmployeePage(pageable, includeAwardBreakdown);
+    }
+
+    @Operation(
+            summary = "Stream all employees",
+            description = "Streams every employee as newline-delimited JSON when requested with Accept: application/x-ndjson"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllEmployees(HttpServletResponse response) throws IOException {
+        log.info("GET /api/employees - streaming as NDJSON");
+        ndjsonResponseWriter.<EmployeeDto>write(response, streamingReadService::streamEmployees);
     }
 
     @Operation(
@@ -64,15 +103,25 @@ public class EmployeeController {
                     description = "Employee retrieved successfully",
                     content = @Content(schema = @Schema(implementation = EmployeeDto.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
     @GetMapping("/{id}")
     public EmployeeDto get(
             @Parameter(description = "Employee ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Include per-award-type counts")
+            @RequestParam(name = "includeAwardBreakdown", defaultValue = "false") boolean includeAwardBreakdown,
+            WebRequest webRequest) {
         log.info("GET /api/employees/{}", id);
-        return service.getEmployee(id);
+        // The ETag is read before the body: a concurrent write can only make the body newer
+        // than its tag, which costs the client one extra 200 but never serves stale data.
+        String eTag = ETags.forVersion(service.getEmployeeVersion(id), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return service.getEmployee(id, includeAwardBreakdown);
     }
 
     @Operation(
@@ -109,16 +158,22 @@ public class EmployeeController {
             ),
             @ApiResponse(responseCode = "400", description = "Invalid request - validation errors"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
-            @ApiResponse(responseCode = "404", description = "Employee not found")
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Employee was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @PutMapping("/{id}")
-    public EmployeeDto update(
+    public ResponseEntity<EmployeeDto> update(
             @Parameter(description = "Employee ID", required = true)
             @PathVariable Long id,
+            @Parameter(description = "Only update if the employee still has this ETag")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
             @Parameter(description = "Employee update request", required = true)
             @Valid @RequestBody EmployeeRequest req) {
         log.info("PUT /api/employees/{} - Updating employee", id);
-        return service.updateEmployee(id, req);
+        return withETag(service.updateEmployee(id, req, ETags.expectedVersion(ifMatch)), accept);
     }
 
     @Operation(
@@ -133,16 +188,22 @@ public class EmployeeController {
             ),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
-            @ApiResponse(responseCode = "404", description = "Employee not found")
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Employee was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @PatchMapping("/{id}")
-    public EmployeeDto patch(
+    public ResponseEntity<EmployeeDto> patch(
             @Parameter(description = "Employee ID", required = true)
             @PathVariable Long id,
+            @Parameter(description = "Only update if the employee still has this ETag")
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
             @Parameter(description = "Employee partial update request", required = true)
             @RequestBody UpdateEmployeeRequest req) {
         log.info("PATCH /api/employees/{} - Partially updating employee", id);
-        return service.patchEmployee(id, req);
+        return withETag(service.patchEmployee(id, req, ETags.expectedVersion(ifMatch)), accept);
     }
 
     @Operation(
@@ -190,7 +251,7 @@ public class EmployeeController {
 
     @Operation(
             summary = "Remove award from an employee",
-            description = "Removes the Dundie award from an employee"
+            description = "Removes a Dundie award from an employee, optionally of a specific award type"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -198,6 +259,7 @@ public class EmployeeController {
                     description = "Award removed successfully",
                     content = @Content(schema = @Schema(implementation = EmployeeDto.class))
             ),
+            @ApiResponse(responseCode = "400", description = "Employee has no awards (of the given type) to remove"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
@@ -205,8 +267,18 @@ public class EmployeeController {
     @ResponseStatus(HttpStatus.OK)
     public EmployeeDto removeAward(
             @Parameter(description = "Employee ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Award type to remove")
+            @RequestParam(name = "type", required = false) AwardType awardType) {
         log.info("DELETE /api/employees/{}/awards - Removing award from employee", id);
-        return service.removeAward(id);
+        return service.removeAward(id, awardType);
+    }
+
+    private static ResponseEntity<EmployeeDto> withETag(EmployeeDto employee, String accept) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (employee.version() != null) {
+            response.eTag(ETags.forVersion(employee.version(), accept));
+        }
+        return response.body(employee);
     }
 }
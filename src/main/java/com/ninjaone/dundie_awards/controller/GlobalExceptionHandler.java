@@ -4,9 +4,15 @@ import com.ninjaone.dundie_awards.dto.ApiError;
 import com.ninjaone.dundie_awards.exception.ActivityNotFoundException;
 import com.ninjaone.dundie_awards.exception.BusinessValidationException;
 import com.ninjaone.dundie_awards.exception.EmployeeNotFoundException;
+import com.ninjaone.dundie_awards.exception.InvalidRefreshTokenException;
 import com.ninjaone.dundie_awards.exception.OrganizationNotFoundException;
+import com.ninjaone.dundie_awards.exception.PasswordHashingBusyException;
+import com.ninjaone.dundie_awards.exception.PreconditionFailedException;
 import com.ninjaone.dundie_awards.exception.RateLimitExceededException;
+import com.ninjaone.dundie_awards.exception.RecordingStateException;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -62,6 +68,56 @@ public class GlobalExceptionHandler {
                 .body(new ApiError(404, ex.getMessage()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(new ApiError(412, ex.getMessage()));
+    }
+
+    @ExceptionHandler(RecordingStateException.class)
+    public ResponseEntity<ApiError> handleRecordingState(RecordingStateException ex) {
+        log.warn("Recording request rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiError(409, ex.getMessage()));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ApiError(409, "Resource was modified concurrently, please retry"));
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ApiError> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+        log.warn("Refresh rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiError(401, ex.getMessage()));
+    }
+
+    /** Tokens rejected after the filter accepted them, e.g. revoked by a concurrent logout. */
+    @ExceptionHandler(JwtException.class)
+    public ResponseEntity<ApiError> handleInvalidAccessToken(JwtException ex) {
+        log.warn("Access token rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiError(401, "Invalid, expired or revoked access token"));
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        log.warn("Login rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(new ApiError(503, ex.getMessage()));
+    }
+
     @ExceptionHandler(RateLimitExceededException.class)
     public ResponseEntity<ApiError> handleRateLimitExceeded(RateLimitExceededException ex) {
         log.warn("Rate limit exceeded: {}", ex.getMessage());
@@ -0,0 +1,127 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.config.GraphQlLimitProperties;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.AwardDto;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.exception.BusinessValidationException;
+import com.ninjaone.dundie_awards.service.GraphReadService;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL API over organizations, employees, awards and activities (schema in
+ * {@code resources/graphql}). Nested lists are {@link BatchMapping}s, resolved once per
+ * request for all parents at the same level.
+ */
+@Slf4j
+@Controller
+public class GraphQlController {
+
+    private final GraphReadService graphReadService;
+    private final GraphQlLimitProperties limits;
+
+    public GraphQlController(GraphReadService graphReadService, GraphQlLimitProperties limits) {
+        this.graphReadService = graphReadService;
+        this.limits = limits;
+    }
+
+    @QueryMapping
+    public OrganizationDto organization(@Argument Long id) {
+        return graphReadService.findOrganization(id).orElse(null);
+    }
+
+    @QueryMapping
+    public List<OrganizationDto> organizations(@Argument int page, @Argument int size) {
+        checkPage(page, size);
+        return graphReadService.findOrganizations(page, size);
+    }
+
+    @QueryMapping
+    public EmployeeDto employee(@Argument Long id) {
+        return graphReadService.findEmployee(id).orElse(null);
+    }
+
+    @QueryMapping
+    public List<EmployeeDto> employees(@Argument Long organizationId, @Argument int page, @Argument int size) {
+        checkPage(page, size);
+        return graphReadService.findEmployees(organizationId, page, size);
+    }
+
+    @BatchMapping(typeName = "Organization")
+    public Map<OrganizationDto, List<EmployeeDto>> employees(List<OrganizationDto> organizations) {
+        Map<Long, List<EmployeeDto>> byOrganization = graphReadService.findEmployeesByOrganizationIds(
+                ids(organizations, OrganizationDto::id), limits.getOrganizationEmployees());
+        return byParent(organizations, OrganizationDto::id, byOrganization);
+    }
+
+    /**
+     * Built from the columns already on the employee, so it needs no query at all.
+     */
+    @SchemaMapping(typeName = "Employee")
+    public OrganizationDto organization(EmployeeDto employee) {
+        return new OrganizationDto(employee.organizationId(), employee.organizationName());
+    }
+
+    @BatchMapping(typeName = "Employee")
+    public Map<EmployeeDto, List<AwardDto>> recentAwards(List<EmployeeDto> employees) {
+        Map<Long, List<AwardDto>> byEmployee = graphReadService.findRecentAwardsByEmployeeIds(
+                ids(employees, EmployeeDto::id), limits.getRecentItems());
+        return byParent(employees, EmployeeDto::id, byEmployee);
+    }
+
+    @BatchMapping(typeName = "Employee")
+    public Map<EmployeeDto, List<ActivityDto>> recentActivities(List<EmployeeDto> employees) {
+        Map<Long, List<ActivityDto>> byEmployee = graphReadService.findRecentActivitiesByEmployeeIds(
+                ids(employees, EmployeeDto::id), limits.getRecentItems());
+        return byParent(employees, EmployeeDto::id, byEmployee);
+    }
+
+    @GraphQlExceptionHandler
+    public GraphQLError handleBusinessValidation(BusinessValidationException ex, DataFetchingEnvironment environment) {
+        return GraphQLError.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(ex.getMessage())
+                .path(environment.getExecutionStepInfo().getPath())
+                .location(environment.getField().getSourceLocation())
+                .build();
+    }
+
+    private void checkPage(int page, int size) {
+        if (page < 0 || size < 1 || size > limits.getMaxPageSize()) {
+            throw new BusinessValidationException(
+                    "page must be >= 0 and size between 1 and " + limits.getMaxPageSize());
+        }
+    }
+
+    private static <P> Set<Long> ids(List<P> parents, Function<P, Long> id) {
+        return parents.stream().map(id).collect(Collectors.toSet());
+    }
+
+    /**
+     * Every parent needs an entry, since the schema declares these lists non-null.
+     */
+    private static <P, C> Map<P, List<C>> byParent(List<P> parents, Function<P, Long> id, Map<Long, List<C>> children) {
+        Map<P, List<C>> result = new LinkedHashMap<>();
+        for (P parent : parents) {
+            result.put(parent, children.getOrDefault(id.apply(parent), List.of()));
+        }
+        return result;
+    }
+}
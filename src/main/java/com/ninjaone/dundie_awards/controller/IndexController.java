@@ -1,28 +1,45 @@
 package com.ninjaone.dundie_awards.controller;
 
-import com.ninjaone.dundie_awards.repository.ActivityRepository;
-import com.ninjaone.dundie_awards.repository.EmployeeRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.ninjaone.dundie_awards.service.DashboardService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
+@Slf4j
 @Controller
 @RequestMapping("/")
+@Observed(name = "controller.calls")
 public class IndexController {
 
-    @Autowired
-    private EmployeeRepository employeeRepository;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
 
-    @Autowired
-    private ActivityRepository activityRepository;
+    private final DashboardService dashboardService;
 
+    public IndexController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Renders the newest employees and activities. Each table pages independently with the
+     * {@code employeesBefore}/{@code activitiesBefore} cursors from the previous render.
+     */
     @GetMapping()
-    public String getIndex(Model model) {
-        model.addAttribute("employees", employeeRepository.findAll());
-        model.addAttribute("activities", activityRepository.findAll());
+    public String getIndex(@RequestParam(required = false) Long employeesBefore,
+                           @RequestParam(required = false) Long activitiesBefore,
+                           @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                           Model model) {
+        int boundedSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        log.debug("GET / - employeesBefore={}, activitiesBefore={}, size={}", employeesBefore, activitiesBefore, boundedSize);
+        model.addAttribute("dashboard", dashboardService.getDashboard(employeesBefore, activitiesBefore, boundedSize));
+        model.addAttribute("employeesBefore", employeesBefore);
+        model.addAttribute("activitiesBefore", activitiesBefore);
+        model.addAttribute("size", boundedSize);
         return "index";
     }
 }
@@ -0,0 +1,59 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes a stream of DTOs as newline-delimited JSON straight to the servlet output stream.
+ * Blocking writes give us backpressure for free: when the client reads slowly the request's
+ * (virtual) thread blocks and the next chunk is not read. No JDBC connection is held while it
+ * waits (see {@link com.ninjaone.dundie_awards.service.StreamingReadService}).
+ */
+@Component
+class NdjsonResponseWriter {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+
+    NdjsonResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    <T> void write(HttpServletResponse response, Consumer<Consumer<T>> source) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            try {
+                source.accept(item -> {
+                    try {
+                        objectWriter.writeValue(generator, item);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
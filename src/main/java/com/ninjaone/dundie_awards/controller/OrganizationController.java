@@ -5,6 +5,8 @@ import com.ninjaone.dundie_awards.dto.OrganizationDto;
 import com.ninjaone.dundie_awards.dto.PageResponse;
 import com.ninjaone.dundie_awards.model.AwardType;
 import com.ninjaone.dundie_awards.service.OrganizationService;
+import com.ninjaone.dundie_awards.service.StreamingReadService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,12 +15,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -26,17 +32,24 @@ import java.util.List;
 @RequestMapping("/api/organizations")
 @Tag(name = "Organizations", description = "API endpoints for managing organizations and awarding all employees")
 @SecurityRequirement(name = "bearer-jwt")
+@Observed(name = "controller.calls")
 public class OrganizationController {
 
     private final OrganizationService service;
+    private final StreamingReadService streamingReadService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
-    public OrganizationController(OrganizationService service) {
+    public OrganizationController(OrganizationService service,
+                                  StreamingReadService streamingReadService,
+                                  NdjsonResponseWriter ndjsonResponseWriter) {
         this.service = service;
+        this.streamingReadService = streamingReadService;
+        this.ndjsonResponseWriter = ndjsonResponseWriter;
     }
 
     @Operation(
             summary = "Get all organizations",
-            description = "Retrieves a paginated list of all organizations"
+            description = "Retrieves a paginated list of all organizations. Served as JSON by default, or as Smile, CBOR or Protobuf according to the Accept header"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -44,16 +57,35 @@ public class OrganizationController {
                     description = "Organizations retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PageResponse.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
     })
     @GetMapping
     public PageResponse<OrganizationDto> getOrganizations(
             @Parameter(description = "Pagination parameters (page, size, sort)")
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest webRequest) {
         log.info("GET /api/organizations - page={}, size={}, sort={}", 
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
-        Page<OrganizationDto> pageResult = service.getAllOrganizations(pageable);
-        return PageResponse.from(pageResult);
+        String eTag = ETags.forSequence(service.getOrganizationsVersion(), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return service.getOrganizationPage(pageable);
+    }
+
+    @Operation(
+            summary = "Stream all organizations",
+            description = "Streams every organization as newline-delimited JSON when requested with Accept: application/x-ndjson"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Organizations streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamOrganizations(HttpServletResponse response) throws IOException {
+        log.info("GET /api/organizations - streaming as NDJSON");
+        ndjsonResponseWriter.<OrganizationDto>write(response, streamingReadService::streamOrganizations);
     }
     
     @Operation(
@@ -0,0 +1,88 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.dto.RecordingStatus;
+import com.ninjaone.dundie_awards.dto.SlowRequest;
+import com.ninjaone.dundie_awards.service.ProfilingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/profiling")
+@Tag(name = "Profiling", description = "Java Flight Recorder recordings and slow request breakdowns (admin only)")
+@SecurityRequirement(name = "bearer-jwt")
+public class ProfilingController {
+
+    private final ProfilingService service;
+
+    public ProfilingController(ProfilingService service) {
+        this.service = service;
+    }
+
+    @Operation(
+            summary = "Start a recording",
+            description = "Starts a JFR recording bounded by the configured max age, size and duration"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Recording started"),
+            @ApiResponse(responseCode = "409", description = "A recording is already running")
+    })
+    @PostMapping("/recording")
+    @ResponseStatus(HttpStatus.CREATED)
+    public RecordingStatus startRecording() {
+        log.info("POST /api/admin/profiling/recording");
+        return service.startRecording();
+    }
+
+    @Operation(summary = "Get the recording", description = "State of the current or last recording")
+    @GetMapping("/recording")
+    public RecordingStatus getRecording() {
+        return service.getRecording();
+    }
+
+    @Operation(summary = "Stop the recording", description = "Stops the running recording; it can still be dumped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recording stopped"),
+            @ApiResponse(responseCode = "409", description = "No recording is running")
+    })
+    @DeleteMapping("/recording")
+    public RecordingStatus stopRecording() {
+        log.info("DELETE /api/admin/profiling/recording");
+        return service.stopRecording();
+    }
+
+    @Operation(
+            summary = "Dump the recording",
+            description = "Downloads what the current or last recording holds as a .jfr file, for JDK Mission Control or the jfr tool"
+    )
+    @GetMapping(value = "/recording/dump", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void dumpRecording(HttpServletResponse response) throws IOException {
+        log.info("GET /api/admin/profiling/recording/dump");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("dundie-awards.jfr").build().toString());
+        service.dumpRecording(response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Get slow requests",
+            description = "Stage breakdowns of the most recent requests over the slow request threshold, newest first"
+    )
+    @GetMapping("/slow-requests")
+    public List<SlowRequest> getSlowRequests() {
+        return service.getSlowRequests();
+    }
+}
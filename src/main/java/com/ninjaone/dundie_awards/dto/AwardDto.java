@@ -0,0 +1,11 @@
+package com.ninjaone.dundie_awards.dto;
+
+import com.ninjaone.dundie_awards.model.AwardType;
+import java.time.Instant;
+
+public record AwardDto(
+    Long id,
+    AwardType type,
+    Instant awardedAt,
+    Long employeeId
+) {}
@@ -0,0 +1,12 @@
+package com.ninjaone.dundie_awards.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code nextCursor} is passed back to fetch the following page and is
+ * {@code null} on the last one.
+ */
+public record CursorSlice<T>(
+    List<T> items,
+    Long nextCursor
+) {}
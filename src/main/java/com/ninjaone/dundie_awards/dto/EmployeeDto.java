@@ -1,10 +1,18 @@
 package com.ninjaone.dundie_awards.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ninjaone.dundie_awards.model.AwardType;
+
+import java.util.Map;
+
 public record EmployeeDto(
     Long id,
     String firstName,
     String lastName,
     Long organizationId,
     String organizationName,
-    Integer dundieAwards
+    Integer dundieAwards,
+    Long version,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Map<AwardType, Integer> awardBreakdown
 ) {}
@@ -3,10 +3,11 @@ package com.ninjaone.dundie_awards.dto;
 public record JwtAuthenticationResponse(
         String token,
         String type,
-        String username
+        String username,
+        String refreshToken,
+        long expiresIn
 ) {
-    public JwtAuthenticationResponse(String token, String username) {
-        this(token, "Bearer", username);
+    public JwtAuthenticationResponse(String token, String username, String refreshToken, long expiresIn) {
+        this(token, "Bearer", username, refreshToken, expiresIn);
     }
 }
-
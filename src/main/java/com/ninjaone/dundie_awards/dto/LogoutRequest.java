@@ -0,0 +1,6 @@
+package com.ninjaone.dundie_awards.dto;
+
+public record LogoutRequest(
+        String refreshToken
+) {
+}
@@ -2,7 +2,10 @@ package com.ninjaone.dundie_awards.dto;
 
 import org.springframework.data.domain.Page;
 
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
 
 public record PageResponse<T>(
         List<T> items,
@@ -24,5 +27,42 @@ public record PageResponse<T>(
                 page.isLast()
         );
     }
-}
 
+    /**
+     * Builds a response whose items are mapped on access rather than up front, so the
+     * serializer can map and write each item in turn without materializing a DTO list.
+     * The mapper must only touch state that is already loaded.
+     */
+    public static <S, T> PageResponse<T> from(Page<S> page, Function<? super S, ? extends T> mapper) {
+        return new PageResponse<>(
+                new MappedList<>(page.getContent(), mapper),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast()
+        );
+    }
+
+    private static final class MappedList<S, T> extends AbstractList<T> implements RandomAccess {
+
+        private final List<S> source;
+        private final Function<? super S, ? extends T> mapper;
+
+        private MappedList(List<S> source, Function<? super S, ? extends T> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public T get(int index) {
+            return mapper.apply(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+}
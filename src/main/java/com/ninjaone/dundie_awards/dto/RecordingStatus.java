@@ -0,0 +1,13 @@
+package com.ninjaone.dundie_awards.dto;
+
+import java.time.Instant;
+
+public record RecordingStatus(
+        long id,
+        String state,
+        Instant startTime,
+        Instant stopTime,
+        long maxAgeSeconds,
+        long maxSizeBytes,
+        long sizeBytes
+) {}
@@ -0,0 +1,9 @@
+package com.ninjaone.dundie_awards.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken
+) {
+}
@@ -0,0 +1,15 @@
+package com.ninjaone.dundie_awards.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record SlowRequest(
+        long requestId,
+        Instant completedAt,
+        String method,
+        String uri,
+        int status,
+        long durationMillis,
+        int sqlStatements,
+        List<String> stages
+) {}
@@ -0,0 +1,7 @@
+package com.ninjaone.dundie_awards.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
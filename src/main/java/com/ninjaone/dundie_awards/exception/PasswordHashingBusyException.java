@@ -0,0 +1,7 @@
+package com.ninjaone.dundie_awards.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ninjaone.dundie_awards.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ninjaone.dundie_awards.exception;
+
+public class RecordingStateException extends RuntimeException {
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.time.Duration;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit. A request that finishes within
+ * the target latency while at least half the limit is in use raises the limit by one; a slower
+ * one cuts it by the backoff ratio, at most once per target latency, so the requests of one
+ * slow burst only count once. Not thread-safe; {@link Bulkhead} calls it under its lock.
+ */
+final class AimdLimit {
+
+    private final int min;
+    private final int max;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private int limit;
+    private long lastDecreaseNanos;
+
+    AimdLimit(int min, int max, Duration targetLatency, double backoffRatio) {
+        this.min = Math.max(1, Math.min(min, max));
+        this.max = max;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = max;
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    static AimdLimit fixed(int limit) {
+        return new AimdLimit(limit, limit, Duration.ZERO, 1);
+    }
+
+    int get() {
+        return limit;
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @return whether the limit grew, so waiters can be woken
+     */
+    boolean onSample(long latencyNanos, int inFlight) {
+        if (min == max) {
+            return false;
+        }
+        if (latencyNanos > targetLatencyNanos) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                lastDecreaseNanos = now;
+                limit = Math.max(min, Math.min(limit - 1, (int) (limit * backoffRatio)));
+            }
+            return false;
+        }
+        if (limit < max && inFlight * 2 >= limit) {
+            limit++;
+            return true;
+        }
+        return false;
+    }
+}
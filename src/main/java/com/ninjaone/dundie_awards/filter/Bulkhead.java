@@ -0,0 +1,205 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.BulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency bulkhead with a bounded wait queue. With virtual threads a blocked request is
+ * cheap, so the queue bound (not the thread pool) is what keeps waiters from piling up.
+ * <p>
+ * When adaptive, the limit moves between {@code min-concurrent} and {@code max-concurrent}
+ * with the latency of completed interactive requests (see {@link AimdLimit}), so a slow
+ * database sheds load instead of queueing it. Bulk requests such as NDJSON exports run for as
+ * long as the client reads, so their latency says nothing about the database and is not
+ * sampled. {@link Priority#BULK} requests may hold at most
+ * {@code bulk-share} of the limit and get a freed permit only when no interactive request
+ * is waiting for it.
+ */
+public class Bulkhead {
+
+    public enum Priority {
+        INTERACTIVE,
+        BULK
+    }
+
+    private final AimdLimit limit;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final double bulkShare;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition interactiveTurn = lock.newCondition();
+    private final Condition bulkTurn = lock.newCondition();
+    private final Counter rejected;
+    // written under the lock, read without it by gauges
+    private volatile int active;
+    private volatile int bulkActive;
+    private volatile int interactiveQueued;
+    private volatile int bulkQueued;
+
+    /** A fixed limit of {@code maxConcurrent}, with no share reserved for interactive requests. */
+    public Bulkhead(EndpointGroup group, int maxConcurrent, int maxQueued, Duration maxWait,
+                    MeterRegistry meterRegistry) {
+        this(group, AimdLimit.fixed(maxConcurrent), maxQueued, maxWait, 1, meterRegistry);
+    }
+
+    public Bulkhead(EndpointGroup group, BulkheadProperties.Group config, BulkheadProperties.Adaptive adaptive,
+                    MeterRegistry meterRegistry) {
+        this(group,
+            adaptive.isEnabled()
+                ? new AimdLimit(config.getMinConcurrent(), config.getMaxConcurrent(), config.getTargetLatency(),
+                    adaptive.getBackoffRatio())
+                : AimdLimit.fixed(config.getMaxConcurrent()),
+            config.getMaxQueued(), config.getMaxWait(), adaptive.getBulkShare(), meterRegistry);
+    }
+
+    private Bulkhead(EndpointGroup group, AimdLimit limit, int maxQueued, Duration maxWait, double bulkShare,
+                     MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.maxConcurrent = limit.get();
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait == null ? 0 : maxWait.toNanos();
+        this.bulkShare = bulkShare;
+
+        String tag = group.tagValue();
+        Gauge.builder("bulkhead.active", this, Bulkhead::getActive)
+            .description("Requests currently holding a bulkhead permit")
+            .tag("group", tag)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", this, Bulkhead::getQueued)
+            .description("Requests waiting for a bulkhead permit")
+            .tag("group", tag)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.max.concurrent", this, Bulkhead::getMaxConcurrent)
+            .tag("group", tag)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.limit", this, Bulkhead::getLimit)
+            .description("Current concurrency limit, adapted to request latency")
+            .tag("group", tag)
+            .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+            .description("Requests rejected because the bulkhead and its queue were full")
+            .tag("group", tag)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Acquires a permit, waiting up to the configured max wait if there is room in the queue.
+     *
+     * @return {@code false} if the request should be rejected
+     */
+    public boolean tryAcquire(Priority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            if (canAcquire(priority)) {
+                take(priority);
+                return true;
+            }
+            if (maxWaitNanos <= 0 || getQueued() >= maxQueued) {
+                rejected.increment();
+                return false;
+            }
+            enqueue(priority, 1);
+            try {
+                long remainingNanos = maxWaitNanos;
+                while (!canAcquire(priority)) {
+                    if (remainingNanos <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    remainingNanos = turn(priority).awaitNanos(remainingNanos);
+                }
+                take(priority);
+                return true;
+            } finally {
+                enqueue(priority, -1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit and, for interactive requests, feeds the request's latency, measured
+     * from acquiring the permit, to the limit.
+     */
+    public void release(Priority priority, long latencyNanos) {
+        lock.lock();
+        try {
+            int inFlight = active;
+            active = inFlight - 1;
+            if (priority == Priority.BULK) {
+                bulkActive--;
+            }
+            if (priority == Priority.INTERACTIVE && limit.onSample(latencyNanos, inFlight)) {
+                interactiveTurn.signalAll();
+                bulkTurn.signalAll();
+            } else if (interactiveQueued > 0) {
+                interactiveTurn.signal();
+            } else if (bulkQueued > 0) {
+                bulkTurn.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canAcquire(Priority priority) {
+        int current = limit.get();
+        if (active >= current) {
+            return false;
+        }
+        return priority == Priority.INTERACTIVE
+            || (interactiveQueued == 0 && bulkActive < Math.max(1, (int) (current * bulkShare)));
+    }
+
+    private void take(Priority priority) {
+        active++;
+        if (priority == Priority.BULK) {
+            bulkActive++;
+        }
+    }
+
+    private void enqueue(Priority priority, int delta) {
+        if (priority == Priority.INTERACTIVE) {
+            interactiveQueued += delta;
+        } else {
+            bulkQueued += delta;
+        }
+    }
+
+    private Condition turn(Priority priority) {
+        return priority == Priority.INTERACTIVE ? interactiveTurn : bulkTurn;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getQueued() {
+        return interactiveQueued + bulkQueued;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getRejectedCount() {
+        return rejected.count();
+    }
+}
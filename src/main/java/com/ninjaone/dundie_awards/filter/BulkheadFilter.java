@@ -0,0 +1,111 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.dto.ApiError;
+import com.ninjaone.dundie_awards.jfr.RequestProfile;
+import com.ninjaone.dundie_awards.jfr.Stage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds {@code /api/**} and {@code /graphql} requests with 503 once their endpoint group's bulkhead and queue are
+ * full. Runs after Spring Security; authenticated requests and logins are interactive, while
+ * NDJSON exports and anonymous requests are bulk and give way to them.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<EndpointGroup, Bulkhead> bulkheads;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(Map<EndpointGroup, Bulkhead> bulkheads, ObjectMapper objectMapper) {
+        this.bulkheads = new EnumMap<>(bulkheads);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointGroup group = EndpointGroup.classify(request.getMethod(), request.getRequestURI());
+        Bulkhead bulkhead = bulkheads.get(group);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead.Priority priority = priority(request, group);
+        boolean acquired;
+        try (RequestProfile.StageTimer ignored = RequestProfile.stage(Stage.FILTER, "bulkhead")) {
+            acquired = bulkhead.tryAcquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            handleBulkheadFull(response, group);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release(priority, System.nanoTime() - start);
+        }
+    }
+
+    static Bulkhead.Priority priority(HttpServletRequest request, EndpointGroup group) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return Bulkhead.Priority.BULK;
+        }
+        if (group == EndpointGroup.AUTH) {
+            return Bulkhead.Priority.INTERACTIVE;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)
+            ? Bulkhead.Priority.INTERACTIVE
+            : Bulkhead.Priority.BULK;
+    }
+
+    public Bulkhead getBulkhead(EndpointGroup group) {
+        return bulkheads.get(group);
+    }
+
+    private void handleBulkheadFull(HttpServletResponse response, EndpointGroup group) throws IOException {
+        log.warn("Bulkhead {} is full, rejecting request", group);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+
+        ApiError apiError = new ApiError(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Server is busy. Please try again later."
+        );
+
+        objectMapper.writeValue(response.getWriter(), apiError);
+    }
+}
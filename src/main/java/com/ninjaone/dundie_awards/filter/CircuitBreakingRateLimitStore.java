@@ -0,0 +1,174 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps write limits in force while Redis is unreachable. After {@code failure-threshold}
+ * consecutive failed or slow calls the circuit opens and decisions come from local buckets
+ * holding this node's share of each limit: the capacity divided by the number of live nodes,
+ * as last reported by the heartbeat. After {@code open-duration} one request probes Redis; if
+ * it answers, the node rejoins the shared buckets and drops the local ones.
+ */
+@Slf4j
+public class CircuitBreakingRateLimitStore implements RateLimitStore, AutoCloseable {
+
+    private static final byte[] NODES_KEY = "{write-rate-limit}:nodes".getBytes(StandardCharsets.UTF_8);
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Mode {
+        DISTRIBUTED("distributed"),
+        LOCAL("local");
+
+        private final String tag;
+    }
+
+    private final RateLimitStore delegate;
+    private final RateLimitNodeRegistry nodeRegistry;
+    private final RateLimitMetrics metrics;
+    private final LocalRateLimitBuckets localBuckets;
+    private final LongSupplier nanoTime;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int failureThreshold;
+    private final long callTimeoutMillis;
+    private final long openNanos;
+    private final long heartbeatTtlMicros;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean open = new AtomicBoolean();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private final ScheduledExecutorService heartbeats;
+    private volatile long openUntilNanos;
+    private volatile long liveNodes = 1;
+
+    public CircuitBreakingRateLimitStore(RateLimitStore delegate, RateLimitNodeRegistry nodeRegistry,
+                                         RateLimitProperties.CircuitBreaker circuitBreaker, Duration longestWindow,
+                                         RateLimitMetrics metrics) {
+        this(delegate, nodeRegistry, circuitBreaker, longestWindow, metrics, System::nanoTime);
+        long interval = circuitBreaker.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** Does not schedule heartbeats; tests call {@link #heartbeat()} themselves. */
+    CircuitBreakingRateLimitStore(RateLimitStore delegate, RateLimitNodeRegistry nodeRegistry,
+                                  RateLimitProperties.CircuitBreaker circuitBreaker, Duration longestWindow,
+                                  RateLimitMetrics metrics, LongSupplier nanoTime) {
+        this.delegate = delegate;
+        this.nodeRegistry = nodeRegistry;
+        this.metrics = metrics;
+        this.localBuckets = new LocalRateLimitBuckets(longestWindow, nanoTime);
+        this.nanoTime = nanoTime;
+        this.failureThreshold = circuitBreaker.getFailureThreshold();
+        this.callTimeoutMillis = circuitBreaker.getCallTimeout().toMillis();
+        this.openNanos = circuitBreaker.getOpenDuration().toNanos();
+        // a node is dropped after missing three heartbeats
+        this.heartbeatTtlMicros = circuitBreaker.getHeartbeatInterval().multipliedBy(3).toNanos() / 1000;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("rate-limit-heartbeat").factory());
+        metrics.circuitBreaker(this);
+    }
+
+    @Override
+    public CompletableFuture<RateLimitDecision> consume(List<RateLimitBucket> buckets, long cost) {
+        boolean probe = false;
+        if (open.get()) {
+            if (nanoTime.getAsLong() - openUntilNanos < 0 || !probing.compareAndSet(false, true)) {
+                return CompletableFuture.completedFuture(local(buckets, cost));
+            }
+            probe = true;
+        }
+        boolean probed = probe;
+        CompletableFuture<RateLimitDecision> remote;
+        try {
+            remote = delegate.consume(buckets, cost);
+        } catch (RuntimeException e) {
+            remote = CompletableFuture.failedFuture(e);
+        }
+        return remote
+            .orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+            .handle((decision, failure) -> {
+                if (failure == null) {
+                    succeeded(probed);
+                    return decision;
+                }
+                failed(probed, failure);
+                return local(buckets, cost);
+            });
+    }
+
+    public Mode getMode() {
+        return open.get() ? Mode.LOCAL : Mode.DISTRIBUTED;
+    }
+
+    public long getLiveNodes() {
+        return liveNodes;
+    }
+
+    void heartbeat() {
+        try {
+            nodeRegistry.heartbeat(NODES_KEY, nodeId, heartbeatTtlMicros)
+                .orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+                .thenAccept(count -> liveNodes = Math.max(1, count))
+                .join();
+        } catch (RuntimeException e) {
+            // keep the last known count; it is what sizes the local buckets during an outage
+            log.debug("Rate limit heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private RateLimitDecision local(List<RateLimitBucket> buckets, long cost) {
+        metrics.localDecision();
+        return localBuckets.consume(buckets, cost, liveNodes);
+    }
+
+    private void succeeded(boolean probe) {
+        consecutiveFailures.set(0);
+        if (probe) {
+            open.set(false);
+            localBuckets.clear();
+            probing.set(false);
+            metrics.circuitTransition(Mode.DISTRIBUTED);
+            log.info("Redis answers again; write rate limits are shared across nodes again");
+        }
+    }
+
+    private void failed(boolean probe, Throwable failure) {
+        if (probe) {
+            openUntilNanos = nanoTime.getAsLong() + openNanos;
+            probing.set(false);
+            log.warn("Redis is still unavailable for rate limiting: {}", failure.getMessage());
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && !open.get()) {
+            openUntilNanos = nanoTime.getAsLong() + openNanos;
+            if (!open.compareAndSet(false, true)) {
+                return;
+            }
+            metrics.circuitTransition(Mode.LOCAL);
+            log.error("Redis is unavailable for rate limiting; limiting writes locally to 1/{} of each limit",
+                liveNodes, failure);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        heartbeats.shutdownNow();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ninjaone.dundie_awards.filter;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Coarse endpoint classes that get their own bulkhead, so a burst in one class
+ * (e.g. organization-wide awards) cannot starve another (e.g. single employee reads).
+ */
+public enum EndpointGroup {
+    READS,
+    WRITES,
+    BULK_WRITES,
+    AUTH;
+
+    private static final Set<String> WRITE_METHODS = Set.of(
+        HttpMethod.POST.name(),
+        HttpMethod.PUT.name(),
+        HttpMethod.PATCH.name(),
+        HttpMethod.DELETE.name()
+    );
+    private static final String GRAPHQL_PATH = "/graphql";
+    private static final Pattern BULK_WRITE_PATH = Pattern.compile("^/api/organizations/[^/]+/awards/?$");
+
+    public static EndpointGroup classify(String method, String path) {
+        if (path != null && path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        // the GraphQL schema has no mutations, so its POSTs are reads
+        if (!WRITE_METHODS.contains(method) || GRAPHQL_PATH.equals(path)) {
+            return READS;
+        }
+        if (path != null && BULK_WRITE_PATH.matcher(path).matches()) {
+            return BULK_WRITES;
+        }
+        return WRITES;
+    }
+
+    public String tagValue() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -1,15 +1,19 @@
 package com.ninjaone.dundie_awards.filter;
 
 import com.ninjaone.dundie_awards.config.JwtTokenProvider;
+import com.ninjaone.dundie_awards.jfr.RequestProfile;
+import com.ninjaone.dundie_awards.jfr.Stage;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,41 +21,46 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final ObservationRegistry observationRegistry;
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
+        this(tokenProvider, ObservationRegistry.NOOP);
+    }
+
+    @Autowired
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, ObservationRegistry observationRegistry) {
+        this.tokenProvider = tokenProvider;
+        this.observationRegistry = observationRegistry;
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                
-                // Extract authorities from token
-                var claims = tokenProvider.getClaimsFromToken(jwt);
-                String authoritiesStr = claims.get("authorities", String.class);
-                var authorities = (authoritiesStr == null || authoritiesStr.isEmpty())
-                        ? java.util.Collections.<org.springframework.security.core.GrantedAuthority>emptyList()
-                        : Arrays.stream(authoritiesStr.split(","))
-                                .filter(auth -> !auth.isEmpty())
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toList());
-
+            if (StringUtils.hasText(jwt)) {
+                // one verification per request; repeat tokens are answered from the provider's cache
+                JwtTokenProvider.VerifiedToken token;
+                try (RequestProfile.StageTimer ignored = RequestProfile.stage(Stage.FILTER, "jwt")) {
+                    token = Observation.createNotStarted("jwt.authentication", observationRegistry)
+                            .contextualName("jwt authentication")
+                            .observe(() -> tokenProvider.verify(jwt));
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        username, null, authorities);
+                        token.username(), null, token.authorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.error("JWT validation error: {}", ex.getMessage());
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
@@ -0,0 +1,362 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves rate limit decisions from tokens leased out of the Redis buckets. Each node reserves a
+ * chunk of every bucket it uses ({@code lease-fraction} of its capacity) and takes tokens from
+ * a local counter without locking; the chunk is topped up in the background once it falls
+ * below {@code renew-below}, and before the decision only when it runs dry. Renewals never
+ * block: a dry lease completes the decision when its renewal replies, so the caller's timeouts
+ * apply, and requests that find a renewal of the same lease in flight wait for that one
+ * instead of sending their own. A renewal that has not replied within {@code renew-timeout}
+ * stops holding up the lease; its tokens are still added if the reply comes later.
+ * Buckets too small to lease more than one token at a time gain nothing from leasing; they are
+ * consumed through the direct store once the leased buckets of the same request have allowed it,
+ * and the leased tokens go back if they reject it.
+ * <p>
+ * Leased tokens are taken from Redis up front, so a bucket is never overspent. The error is on
+ * the other side: tokens leased by one node cannot be used by another, so with {@code n} nodes
+ * up to {@code n * lease-fraction} of a bucket can sit unused while another node is rejected.
+ * Leases idle for {@code lease-ttl}, and all leases on shutdown, are handed back.
+ */
+@Slf4j
+public class LeasingRateLimitStore implements RateLimitStore, AutoCloseable {
+
+    private static final int RETURN_BATCH_SIZE = 500;
+
+    private final RateLimitStore direct;
+    private final RateLimitLeaseSource source;
+    private final double leaseFraction;
+    private final double renewBelow;
+    private final long leaseTtlNanos;
+    private final long renewTimeoutMillis;
+    private final Map<ByteBuffer, Lease> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public LeasingRateLimitStore(RateLimitStore direct, RateLimitLeaseSource source,
+                                 RateLimitProperties.Leasing leasing) {
+        this.direct = direct;
+        this.source = source;
+        this.leaseFraction = leasing.getLeaseFraction();
+        this.renewBelow = leasing.getRenewBelow();
+        this.leaseTtlNanos = leasing.getLeaseTtl().toNanos();
+        this.renewTimeoutMillis = leasing.getRenewTimeout().toMillis();
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("rate-limit-leases").factory());
+        long ttlMillis = leasing.getLeaseTtl().toMillis();
+        executor.scheduleWithFixedDelay(this::releaseIdleQuietly, ttlMillis, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Completes immediately unless a lease ran dry, in which case it completes once the renewal
+     * replies.
+     */
+    @Override
+    public CompletableFuture<RateLimitDecision> consume(List<RateLimitBucket> buckets, long cost) {
+        List<Lease> held = new ArrayList<>(buckets.size());
+        List<RateLimitBucket> unleased = null;
+        for (RateLimitBucket bucket : buckets) {
+            // a one-token lease needs a round trip per request anyway, and strands the token
+            if (leaseSize(bucket) <= 1) {
+                if (unleased == null) {
+                    unleased = new ArrayList<>(buckets.size());
+                }
+                unleased.add(bucket);
+            } else {
+                held.add(leases.computeIfAbsent(ByteBuffer.wrap(bucket.key()),
+                    key -> new Lease(bucket, leaseSize(bucket))));
+            }
+        }
+        if (held.isEmpty()) {
+            return direct.consume(buckets, cost);
+        }
+        if (unleased == null) {
+            return consumeLeased(held, cost);
+        }
+        List<RateLimitBucket> remote = unleased;
+        return consumeLeased(held, cost).thenCompose(leased -> leased.allowed()
+            ? consumeDirectly(held, remote, cost, leased)
+            : CompletableFuture.completedFuture(leased));
+    }
+
+    private CompletableFuture<RateLimitDecision> consumeLeased(List<Lease> held, long cost) {
+        try {
+            if (take(held, cost) < 0) {
+                return CompletableFuture.completedFuture(allowed(held));
+            }
+            return renewShort(held, cost).thenApply(renewed -> {
+                int shortAt = take(held, cost);
+                if (shortAt >= 0) {
+                    Lease lease = held.get(shortAt);
+                    return new RateLimitDecision(false, lease.bucket, 0, Math.max(1, lease.microsToNext),
+                        lease.microsToReset);
+                }
+                return allowed(held);
+            });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Takes the unleased buckets' share; all or nothing, so a rejection puts the leased tokens back. */
+    private CompletableFuture<RateLimitDecision> consumeDirectly(List<Lease> held, List<RateLimitBucket> buckets,
+                                                                 long cost, RateLimitDecision leased) {
+        CompletableFuture<RateLimitDecision> remote;
+        try {
+            remote = direct.consume(buckets, cost);
+        } catch (RuntimeException e) {
+            remote = CompletableFuture.failedFuture(e);
+        }
+        return remote
+            .whenComplete((decision, failure) -> {
+                if (failure != null || !decision.allowed()) {
+                    held.forEach(lease -> lease.tokens.addAndGet(cost));
+                }
+            })
+            .thenApply(decision -> decision.allowed() && leased.remaining() < decision.remaining()
+                ? leased
+                : decision);
+    }
+
+    private RateLimitDecision allowed(List<Lease> held) {
+        prefetch(held);
+        Lease reported = held.get(0);
+        for (Lease lease : held) {
+            if (lease.estimatedRemaining() < reported.estimatedRemaining()) {
+                reported = lease;
+            }
+        }
+        return new RateLimitDecision(true, reported.bucket, reported.estimatedRemaining(), 0, reported.microsToReset);
+    }
+
+    int getLeaseCount() {
+        return leases.size();
+    }
+
+    private long leaseSize(RateLimitBucket bucket) {
+        return Math.max(1, (long) (bucket.capacity() * leaseFraction));
+    }
+
+    /** Takes {@code cost} from every lease or from none; returns the first short lease, or -1. */
+    private static int take(List<Lease> held, long cost) {
+        for (int i = 0; i < held.size(); i++) {
+            if (!held.get(i).tryTake(cost)) {
+                for (int j = 0; j < i; j++) {
+                    held.get(j).tokens.addAndGet(cost);
+                }
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Refills the leases that cannot cover this request: joins renewals already in flight and
+     * sends one call for the rest.
+     */
+    private CompletableFuture<Void> renewShort(List<Lease> held, long cost) {
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        List<Lease> starting = new ArrayList<>(held.size());
+        List<CompletableFuture<Void>> pending = new ArrayList<>(held.size());
+        for (Lease lease : held) {
+            if (lease.tokens.get() >= cost) {
+                continue;
+            }
+            CompletableFuture<Void> inFlight = lease.renewal.compareAndExchange(null, started);
+            if (inFlight == null) {
+                starting.add(lease);
+            } else {
+                pending.add(inFlight);
+            }
+        }
+        if (!starting.isEmpty()) {
+            renew(starting, cost, started);
+            pending.add(started);
+        }
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+    }
+
+    /** Tops up leases that fell below the renewal mark in the background, one call for all. */
+    private void prefetch(List<Lease> held) {
+        CompletableFuture<Void> started = null;
+        List<Lease> low = null;
+        for (Lease lease : held) {
+            if (lease.tokens.get() >= lease.size * renewBelow) {
+                continue;
+            }
+            if (started == null) {
+                started = new CompletableFuture<>();
+            }
+            if (lease.renewal.compareAndSet(null, started)) {
+                if (low == null) {
+                    low = new ArrayList<>(held.size());
+                }
+                low.add(lease);
+            }
+        }
+        if (low != null) {
+            renew(low, 1, started);
+            started.exceptionally(e -> {
+                log.warn("Background rate limit lease renewal failed", e);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Leases enough to refill the given leases, whose {@link Lease#renewal} is {@code slot}, and
+     * completes {@code slot} when the reply is applied or {@code renew-timeout} passes.
+     */
+    private void renew(List<Lease> renewing, long cost, CompletableFuture<Void> slot) {
+        // a zero amount leases nothing, but never returns tokens
+        long[] amounts = renewing.stream()
+            .mapToLong(lease -> Math.max(0, Math.max(lease.size, cost) - lease.tokens.get()))
+            .toArray();
+        CompletableFuture<Void> applied;
+        try {
+            applied = source.lease(renewing.stream().map(lease -> lease.bucket).toList(), amounts)
+                .thenAccept(granted -> {
+                    for (int i = 0; i < renewing.size(); i++) {
+                        renewing.get(i).apply(granted.get(i));
+                    }
+                });
+        } catch (RuntimeException e) {
+            applied = CompletableFuture.failedFuture(e);
+        }
+        // a copy times out, so a late reply is still applied to the leases
+        applied.copy()
+            .orTimeout(renewTimeoutMillis, TimeUnit.MILLISECONDS)
+            .whenComplete((ignored, failure) -> {
+                renewing.forEach(lease -> lease.renewal.compareAndSet(slot, null));
+                if (failure == null) {
+                    slot.complete(null);
+                } else {
+                    slot.completeExceptionally(failure);
+                }
+            });
+    }
+
+    private void releaseIdleQuietly() {
+        long idleSince = System.nanoTime() - leaseTtlNanos;
+        List<Lease> idle = new ArrayList<>();
+        for (Map.Entry<ByteBuffer, Lease> entry : leases.entrySet()) {
+            Lease lease = entry.getValue();
+            // a request still holding a removed lease may renew it once more; those tokens are
+            // only lost until the bucket refills
+            if (lease.lastUsedNanos - idleSince < 0 && leases.remove(entry.getKey(), lease)) {
+                idle.add(lease);
+            }
+        }
+        giveBack(idle).exceptionally(e -> {
+            log.warn("Returning idle rate limit leases failed", e);
+            return null;
+        });
+    }
+
+    /** Hands back the unused tokens of leases no longer in the map. */
+    private CompletableFuture<Void> giveBack(List<Lease> released) {
+        List<RateLimitBucket> buckets = new ArrayList<>();
+        List<Long> amounts = new ArrayList<>();
+        for (Lease lease : released) {
+            long unused = lease.tokens.getAndSet(0);
+            if (unused > 0) {
+                buckets.add(lease.bucket);
+                amounts.add(-unused);
+            }
+        }
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        try {
+            for (int from = 0; from < buckets.size(); from += RETURN_BATCH_SIZE) {
+                int to = Math.min(buckets.size(), from + RETURN_BATCH_SIZE);
+                calls.add(source.lease(buckets.subList(from, to),
+                    amounts.subList(from, to).stream().mapToLong(Long::longValue).toArray()));
+            }
+        } catch (RuntimeException e) {
+            calls.add(CompletableFuture.failedFuture(e));
+        }
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        List<Lease> all = new ArrayList<>(leases.values());
+        leases.clear();
+        try {
+            giveBack(all).orTimeout(renewTimeoutMillis, TimeUnit.MILLISECONDS).join();
+            log.info("Returned unused tokens of {} rate limit leases", all.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not return rate limit leases on shutdown; they refill on their own", e);
+        }
+        closeQuietly(source);
+        if (direct != source) {
+            closeQuietly(direct);
+        }
+    }
+
+    private static void closeQuietly(Object store) {
+        if (store instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close rate limit store", e);
+            }
+        }
+    }
+
+    private static final class Lease {
+
+        private final RateLimitBucket bucket;
+        private final long size;
+        private final AtomicLong tokens = new AtomicLong();
+        /** The renewal in flight, if any; requests short on this lease wait for it. */
+        private final AtomicReference<CompletableFuture<Void>> renewal = new AtomicReference<>();
+        private volatile long remoteRemaining;
+        private volatile long microsToNext;
+        private volatile long microsToReset;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private Lease(RateLimitBucket bucket, long size) {
+            this.bucket = bucket;
+            this.size = size;
+        }
+
+        boolean tryTake(long cost) {
+            lastUsedNanos = System.nanoTime();
+            long current;
+            do {
+                current = tokens.get();
+                if (current < cost) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - cost));
+            return true;
+        }
+
+        void apply(RateLimitLease lease) {
+            tokens.addAndGet(lease.granted());
+            remoteRemaining = lease.remaining();
+            microsToNext = lease.microsToNext();
+            microsToReset = lease.microsToReset();
+        }
+
+        /** Tokens left in Redis at the last renewal plus those still leased here. */
+        long estimatedRemaining() {
+            return remoteRemaining + tokens.get();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process copies of the Redis buckets, with the arithmetic of {@code write_rate_limit.lua},
+ * each holding this node's share of the capacity. Used only while Redis is unreachable.
+ */
+final class LocalRateLimitBuckets {
+
+    private final Cache<ByteBuffer, double[]> buckets;
+    private final LongSupplier nanoTime;
+
+    /** Buckets untouched for {@code idle} are full again and are dropped. */
+    LocalRateLimitBuckets(Duration idle, LongSupplier nanoTime) {
+        this.buckets = Caffeine.newBuilder().expireAfterAccess(idle).build();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * The cost is capped again at the smallest share: the caller capped it at the full
+     * capacity, which a share of it could never hold.
+     */
+    synchronized RateLimitDecision consume(List<RateLimitBucket> requested, long requestedCost, long nodes) {
+        double now = TimeUnit.NANOSECONDS.toMicros(nanoTime.getAsLong());
+        List<RateLimitBucket> shares = new ArrayList<>(requested.size());
+        long cost = requestedCost;
+        for (RateLimitBucket bucket : requested) {
+            RateLimitBucket share = share(bucket, nodes);
+            shares.add(share);
+            cost = Math.min(cost, share.capacity());
+        }
+        double[] tokens = new double[requested.size()];
+        int blocking = 0;
+        long wait = 0;
+        for (int i = 0; i < shares.size(); i++) {
+            RateLimitBucket bucket = shares.get(i);
+            double[] state = buckets.getIfPresent(ByteBuffer.wrap(bucket.key()));
+            // capped, as the share shrinks when nodes join
+            double t = state == null
+                    ? bucket.capacity()
+                    : Math.min(bucket.capacity(),
+                        state[0] + Math.max(0, now - state[1]) * bucket.capacity() / bucket.refillPeriodMicros());
+            tokens[i] = t;
+            if (t < cost) {
+                long needed = (long) Math.ceil((cost - t) * bucket.refillPeriodMicros() / bucket.capacity());
+                if (needed > wait) {
+                    wait = needed;
+                    blocking = i + 1;
+                }
+            }
+        }
+        List<Long> reply = new ArrayList<>(3 + 2 * requested.size());
+        reply.add(blocking == 0 ? 1L : 0L);
+        reply.add((long) blocking);
+        reply.add(wait);
+        for (int i = 0; i < shares.size(); i++) {
+            RateLimitBucket bucket = shares.get(i);
+            double t = tokens[i];
+            if (blocking == 0) {
+                t -= cost;
+                buckets.put(ByteBuffer.wrap(bucket.key()), new double[]{t, now});
+            }
+            reply.add((long) Math.floor(t));
+            reply.add((long) Math.ceil((bucket.capacity() - t) * bucket.refillPeriodMicros() / bucket.capacity()));
+        }
+        return RateLimitDecision.fromReply(shares, reply);
+    }
+
+    void clear() {
+        buckets.invalidateAll();
+    }
+
+    private static RateLimitBucket share(RateLimitBucket bucket, long nodes) {
+        long capacity = Math.max(1, (bucket.capacity() + nodes - 1) / nodes);
+        return new RateLimitBucket(bucket.layer(), bucket.key(), capacity, bucket.refillPeriodMicros());
+    }
+}
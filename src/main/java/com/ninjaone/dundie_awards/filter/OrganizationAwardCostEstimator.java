@@ -0,0 +1,38 @@
+package com.ninjaone.dundie_awards.filter;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.OptionalLong;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Charges {@code POST /api/organizations/{id}/awards} by the number of employees it awards:
+ * one token per {@code employeesPerToken} employees, rounded up.
+ */
+public class OrganizationAwardCostEstimator implements RequestCostEstimator {
+
+    private static final Pattern ORGANIZATION_AWARDS_PATH = Pattern.compile("^/api/organizations/(\\d+)/awards/?$");
+
+    private final ToLongFunction<Long> employeeCount;
+    private final int employeesPerToken;
+
+    public OrganizationAwardCostEstimator(ToLongFunction<Long> employeeCount, int employeesPerToken) {
+        this.employeeCount = employeeCount;
+        this.employeesPerToken = Math.max(1, employeesPerToken);
+    }
+
+    @Override
+    public OptionalLong estimate(String method, String path) {
+        if (!HttpMethod.POST.matches(method)) {
+            return OptionalLong.empty();
+        }
+        Matcher matcher = ORGANIZATION_AWARDS_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return OptionalLong.empty();
+        }
+        long employees = employeeCount.applyAsLong(Long.valueOf(matcher.group(1)));
+        return OptionalLong.of(Math.max(1, (employees + employeesPerToken - 1) / employeesPerToken));
+    }
+}
@@ -0,0 +1,8 @@
+package com.ninjaone.dundie_awards.filter;
+
+/**
+ * One token bucket a request is checked against: {@code capacity} tokens, refilled
+ * continuously over {@code refillPeriodMicros}. Keys are raw Redis keys.
+ */
+public record RateLimitBucket(RateLimitLayer layer, byte[] key, long capacity, long refillPeriodMicros) {
+}
@@ -0,0 +1,34 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.util.List;
+
+/**
+ * Outcome of checking a request against all of its buckets. The reported bucket is the one
+ * that rejected the request or, when allowed, the one with the fewest tokens left.
+ */
+public record RateLimitDecision(boolean allowed, RateLimitBucket bucket, long remaining,
+                                long microsToRefill, long microsToReset) {
+
+    /**
+     * Reads the reply of the rate limit script: {@code [allowed, blockingIndex, microsToRefill]}
+     * followed by {@code [remaining, microsToReset]} per bucket, in bucket order.
+     */
+    public static RateLimitDecision fromReply(List<RateLimitBucket> buckets, List<?> reply) {
+        boolean allowed = number(reply, 0) == 1;
+        int reported = (int) number(reply, 1) - 1;
+        if (reported < 0) {
+            reported = 0;
+            for (int i = 1; i < buckets.size(); i++) {
+                if (number(reply, 3 + 2 * i) < number(reply, 3 + 2 * reported)) {
+                    reported = i;
+                }
+            }
+        }
+        return new RateLimitDecision(allowed, buckets.get(reported),
+                number(reply, 3 + 2 * reported), number(reply, 2), number(reply, 4 + 2 * reported));
+    }
+
+    private static long number(List<?> reply, int index) {
+        return ((Number) reply.get(index)).longValue();
+    }
+}
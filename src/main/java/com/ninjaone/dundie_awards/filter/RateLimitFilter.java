@@ -1,12 +1,12 @@
 package com.ninjaone.dundie_awards.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ninjaone.dundie_awards.config.RateLimitConfig;
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
 import com.ninjaone.dundie_awards.dto.ApiError;
-import com.ninjaone.dundie_awards.exception.RateLimitExceededException;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.distributed.proxy.ProxyManager;
+import com.ninjaone.dundie_awards.jfr.RequestProfile;
+import com.ninjaone.dundie_awards.jfr.Stage;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,16 +16,40 @@ import org.springframework.lang.NonNull;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
-import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Limits write requests to {@code /api/**} with layered token buckets shared through Redis: one
+ * global bucket, one per target organization and one per authenticated user. All buckets of a
+ * request are checked in a single {@link RateLimitStore} call, and a write is only counted if
+ * every layer has room for it, so a rejected request never drains the other layers. Bulk
+ * writes cost more than one token, as priced by {@link RequestCostEstimator}s.
+ * <p>
+ * Runs after the Spring Security filter chain, so the authenticated user is known here.
+ * Requests run on virtual threads, so waiting for the decision parks the request rather than
+ * a platform thread; the store meanwhile pipelines concurrent checks over one connection.
+ */
 @Slf4j
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private static final String GLOBAL_BUCKET_KEY = "global:write:api";
+    /** One hash tag for all buckets, so a multi-key script call stays on one Redis Cluster slot. */
+    private static final String KEY_PREFIX = "{write-rate-limit}:";
+    private static final Pattern ORGANIZATION_PATH = Pattern.compile("^/api/organizations/(\\d+)(/.*)?$");
     private static final Set<String> WRITE_METHODS = Set.of(
         HttpMethod.POST.name(),
         HttpMethod.PUT.name(),
@@ -33,20 +57,46 @@ public class RateLimitFilter extends OncePerRequestFilter {
         HttpMethod.DELETE.name()
     );
 
-    private final ProxyManager<byte[]> proxyManager;
-    private final Supplier<BucketConfiguration> bucketConfigurationSupplier;
-    private final RateLimitConfig rateLimitConfig;
+    private final RateLimitStore rateLimitStore;
+    private final RateLimitProperties properties;
+    private final RateLimitMetrics metrics;
+    private final List<RequestCostEstimator> costEstimators;
+    private final ObservationRegistry observationRegistry;
     private final ObjectMapper objectMapper;
+    private final RateLimitBucket globalBucket;
 
     public RateLimitFilter(
-            ProxyManager<byte[]> proxyManager,
-            Supplier<BucketConfiguration> bucketConfigurationSupplier,
-            RateLimitConfig rateLimitConfig,
+            RateLimitStore rateLimitStore,
+            RateLimitProperties properties,
+            RateLimitMetrics metrics,
             ObjectMapper objectMapper) {
-        this.proxyManager = proxyManager;
-        this.bucketConfigurationSupplier = bucketConfigurationSupplier;
-        this.rateLimitConfig = rateLimitConfig;
+        this(rateLimitStore, properties, metrics, List.of(), objectMapper);
+    }
+
+    public RateLimitFilter(
+            RateLimitStore rateLimitStore,
+            RateLimitProperties properties,
+            RateLimitMetrics metrics,
+            List<RequestCostEstimator> costEstimators,
+            ObjectMapper objectMapper) {
+        this(rateLimitStore, properties, metrics, costEstimators, ObservationRegistry.NOOP, objectMapper);
+    }
+
+    public RateLimitFilter(
+            RateLimitStore rateLimitStore,
+            RateLimitProperties properties,
+            RateLimitMetrics metrics,
+            List<RequestCostEstimator> costEstimators,
+            ObservationRegistry observationRegistry,
+            ObjectMapper objectMapper) {
+        this.rateLimitStore = rateLimitStore;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.costEstimators = List.copyOf(costEstimators);
+        this.observationRegistry = observationRegistry;
         this.objectMapper = objectMapper;
+        this.globalBucket = bucket(RateLimitLayer.GLOBAL, "api",
+            new RateLimitProperties.Layer(true, properties.getRequests(), properties.getWindowMinutes()));
     }
 
     @Override
@@ -55,7 +105,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        if (!rateLimitConfig.isEnabled()) {
+        if (!properties.isEnabled()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -64,38 +114,133 @@ public class RateLimitFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
 
         // Only apply rate limiting to write operations on /api/* endpoints
-        if (isWriteOperation(method) && isApiEndpoint(path)) {
+        if (!isWriteOperation(method) || !isApiEndpoint(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        List<RateLimitBucket> buckets = bucketsFor(path);
+        long cost = costOf(method, path, buckets);
+        Optional<RateLimitDecision> decision = tryDecide(method, path, buckets, cost);
+        if (decision.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        addRateLimitHeaders(response, decision.get(), cost);
+        if (decision.get().allowed()) {
+            filterChain.doFilter(request, response);
+        } else {
+            handleRateLimitExceeded(response, decision.get());
+        }
+    }
+
+    /**
+     * Decides a write that reaches the services without passing through this filter, such as
+     * a gRPC call, as if it were {@code method path} sent by {@code username}: it is charged
+     * to the same buckets at the same price. Empty when limiting is off or no decision could be
+     * made, in which case the write goes ahead as it would over HTTP.
+     */
+    public Optional<RateLimitDecision> checkWrite(String method, String path, String username) {
+        if (!properties.isEnabled() || !isWriteOperation(method) || !isApiEndpoint(path)) {
+            return Optional.empty();
+        }
+        List<RateLimitBucket> buckets = bucketsFor(path, username);
+        return tryDecide(method, path, buckets, costOf(method, path, buckets));
+    }
+
+    /** Empty if the store failed or was too slow: writes fail open rather than stall on Redis. */
+    private Optional<RateLimitDecision> tryDecide(String method, String path, List<RateLimitBucket> buckets,
+                                                  long cost) {
+        metrics.decision();
+        try {
+            return Optional.of(decide(buckets, cost));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while checking rate limit for {} {}", method, path);
+        } catch (TimeoutException e) {
+            log.warn("No rate limit decision for {} {} within {}", method, path, properties.getTimeout());
+        } catch (Exception e) {
+            log.error("Error checking rate limit for {} {}", method, path, e);
+            // On Redis errors, allow the request through (fail open)
+            // In production, you might want to fail closed
+        }
+        return Optional.empty();
+    }
+
+    /** Observed as {@code rate.limit.check}; Lettuce traces the Redis calls as its children. */
+    private RateLimitDecision decide(List<RateLimitBucket> buckets, long cost) throws Exception {
+        Observation observation = Observation.createNotStarted("rate.limit.check", observationRegistry)
+            .contextualName("rate limit check")
+            .highCardinalityKeyValue("rate.limit.cost", Long.toString(cost))
+            .start();
+        try (RequestProfile.StageTimer ignored = RequestProfile.stage(Stage.FILTER, "rateLimit");
+             Observation.Scope scope = observation.openScope()) {
+            RateLimitDecision decision = rateLimitStore.consume(buckets, cost)
+                .get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            observation.highCardinalityKeyValue("rate.limit.allowed", Boolean.toString(decision.allowed()));
+            return decision;
+        } catch (Exception e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    List<RateLimitBucket> bucketsFor(String path) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        return bucketsFor(path, authenticated ? authentication.getName() : null);
+    }
+
+    /** Without a {@code username} the user layer does not apply. */
+    List<RateLimitBucket> bucketsFor(String path, String username) {
+        List<RateLimitBucket> buckets = new ArrayList<>(3);
+        buckets.add(globalBucket);
+        RateLimitProperties.Layer organization = properties.getOrganization();
+        if (organization.isEnabled()) {
+            Matcher matcher = ORGANIZATION_PATH.matcher(path);
+            if (matcher.matches()) {
+                buckets.add(bucket(RateLimitLayer.ORGANIZATION, matcher.group(1), organization));
+            }
+        }
+        RateLimitProperties.Layer user = properties.getUser();
+        if (user.isEnabled() && username != null) {
+            buckets.add(bucket(RateLimitLayer.USER, username, user));
+        }
+        return buckets;
+    }
+
+    /**
+     * The first estimate, capped at the smallest bucket's capacity: a bucket never holds more,
+     * so a larger cost could never be paid.
+     */
+    long costOf(String method, String path, List<RateLimitBucket> buckets) {
+        long cost = 1;
+        for (RequestCostEstimator estimator : costEstimators) {
+            OptionalLong estimate;
             try {
-                byte[] bucketKey = GLOBAL_BUCKET_KEY.getBytes(java.nio.charset.StandardCharsets.UTF_8);
-                Bucket bucket = proxyManager.builder()
-                    .build(bucketKey, bucketConfigurationSupplier);
-
-                if (bucket.tryConsume(1)) {
-                    long availableTokens = bucket.getAvailableTokens();
-                    addRateLimitHeaders(response, rateLimitConfig.getRequestsPerMinute(), 
-                        availableTokens, bucket);
-                    filterChain.doFilter(request, response);
-                } else {
-                    long availableTokens = bucket.getAvailableTokens();
-                    long retryAfterSeconds = calculateRetryAfter(availableTokens, 
-                        rateLimitConfig.getWindowMinutes());
-                    addRateLimitHeaders(response, rateLimitConfig.getRequestsPerMinute(), 
-                        availableTokens, bucket);
-                    handleRateLimitExceeded(response, retryAfterSeconds);
-                    return;
-                }
-            } catch (RateLimitExceededException e) {
-                handleRateLimitExceeded(response, e.getRetryAfterSeconds());
-                return;
-            } catch (Exception e) {
-                log.error("Error checking rate limit for {} {}", method, path, e);
-                // On Redis errors, allow the request through (fail open)
-                // In production, you might want to fail closed
-                filterChain.doFilter(request, response);
+                estimate = estimator.estimate(method, path);
+            } catch (RuntimeException e) {
+                log.warn("Could not price {} {}; charging one token", method, path, e);
+                break;
+            }
+            if (estimate.isPresent()) {
+                cost = estimate.getAsLong();
+                break;
             }
-        } else {
-            filterChain.doFilter(request, response);
         }
+        long smallestCapacity = buckets.stream().mapToLong(RateLimitBucket::capacity).min().orElse(1);
+        return Math.max(1, Math.min(cost, smallestCapacity));
+    }
+
+    private static RateLimitBucket bucket(RateLimitLayer layer, String id, RateLimitProperties.Layer limit) {
+        return new RateLimitBucket(layer,
+            (KEY_PREFIX + layer.getTag() + ":" + id).getBytes(StandardCharsets.UTF_8),
+            limit.getRequests(),
+            TimeUnit.MINUTES.toMicros(limit.getWindowMinutes()));
     }
 
     private boolean isWriteOperation(String method) {
@@ -106,30 +251,29 @@ public class RateLimitFilter extends OncePerRequestFilter {
         return path != null && path.startsWith("/api/");
     }
 
-    private void addRateLimitHeaders(HttpServletResponse response, int limit, 
-                                   long remaining, Bucket bucket) {
-        response.setHeader("X-RateLimit-Limit", String.valueOf(limit));
-        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
-        
-        // Estimate reset time based on refill rate
-        if (remaining < limit) {
-            long resetSeconds = rateLimitConfig.getWindowMinutes() * 60;
+    private void addRateLimitHeaders(HttpServletResponse response, RateLimitDecision decision, long cost) {
+        response.setHeader("X-RateLimit-Cost", String.valueOf(cost));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.bucket().capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, decision.remaining())));
+        response.setHeader("X-RateLimit-Scope", decision.bucket().layer().getTag());
+        // when the bucket will be full again, as epoch seconds
+        if (decision.microsToReset() > 0) {
             response.setHeader("X-RateLimit-Reset", String.valueOf(
-                System.currentTimeMillis() / 1000 + resetSeconds));
+                TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + toSeconds(decision.microsToReset())));
         }
     }
 
-    private long calculateRetryAfter(long availableTokens, int windowMinutes) {
-        if (availableTokens >= 0) {
-            return windowMinutes * 60; // Full window
-        }
-        // Estimate based on refill rate
-        return (long) (windowMinutes * 60.0 / rateLimitConfig.getRequestsPerMinute());
+    /** Rounds up, so a client that waits this long finds the token there. */
+    private static long toSeconds(long micros) {
+        long microsPerSecond = TimeUnit.SECONDS.toMicros(1);
+        return Math.max(1, (micros + microsPerSecond - 1) / microsPerSecond);
     }
 
-    private void handleRateLimitExceeded(HttpServletResponse response, long retryAfterSeconds) 
+    private void handleRateLimitExceeded(HttpServletResponse response, RateLimitDecision decision)
             throws IOException {
-        log.warn("Rate limit exceeded. Retry after {} seconds", retryAfterSeconds);
+        long retryAfterSeconds = toSeconds(decision.microsToRefill());
+        log.warn("Rate limit exceeded ({} layer). Retry after {} seconds",
+            decision.bucket().layer().getTag(), retryAfterSeconds);
         
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -137,10 +281,10 @@ public class RateLimitFilter extends OncePerRequestFilter {
         
         ApiError apiError = new ApiError(
             HttpStatus.TOO_MANY_REQUESTS.value(),
-            "Rate limit exceeded. Too many write requests. Please try again later."
+            "Rate limit exceeded. Too many write requests (" + decision.bucket().layer().getTag()
+                + " limit). Please try again later."
         );
         
         objectMapper.writeValue(response.getWriter(), apiError);
     }
 }
-
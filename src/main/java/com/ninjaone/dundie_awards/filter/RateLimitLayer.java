@@ -0,0 +1,20 @@
+package com.ninjaone.dundie_awards.filter;
+
+/**
+ * The layers of write limits; reported to clients in {@code X-RateLimit-Scope}.
+ */
+public enum RateLimitLayer {
+    GLOBAL("global"),
+    ORGANIZATION("organization"),
+    USER("user");
+
+    private final String tag;
+
+    RateLimitLayer(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
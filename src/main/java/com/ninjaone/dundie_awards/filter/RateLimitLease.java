@@ -0,0 +1,8 @@
+package com.ninjaone.dundie_awards.filter;
+
+/**
+ * Reply for one bucket of a lease call: the tokens handed to the node and the bucket's state
+ * in Redis afterwards.
+ */
+public record RateLimitLease(long granted, long remaining, long microsToNext, long microsToReset) {
+}
@@ -0,0 +1,17 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands out chunks of tokens for {@link LeasingRateLimitStore}.
+ */
+public interface RateLimitLeaseSource {
+
+    /**
+     * Takes up to {@code amounts[i]} tokens from bucket {@code i}, each bucket independently and
+     * all in one call. Negative amounts put unused tokens back. Returns without waiting for the
+     * reply.
+     */
+    CompletableFuture<List<RateLimitLease>> lease(List<RateLimitBucket> buckets, long[] amounts);
+}
@@ -0,0 +1,103 @@
+package com.ninjaone.dundie_awards.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Counts rate limit decisions and the Redis calls behind them.
+ * {@code rate.limit.redis.calls.per.1k} is the ratio since startup: about 1000 without
+ * leasing, and roughly {@code 1000 / lease size} with it. {@code rate.limit.degraded} is 1
+ * while this node limits writes on its own because Redis is unavailable.
+ */
+public class RateLimitMetrics {
+
+    private final Counter decisions;
+    private final Counter consumeCalls;
+    private final Counter leaseCalls;
+    private final Counter returnCalls;
+    private final Counter localDecisions;
+    private final Timer consumeLatency;
+    private final Timer leaseLatency;
+    private final Timer heartbeatLatency;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.decisions = Counter.builder("rate.limit.decisions").register(meterRegistry);
+        this.consumeCalls = redisCalls(meterRegistry, "consume");
+        this.leaseCalls = redisCalls(meterRegistry, "lease");
+        this.returnCalls = redisCalls(meterRegistry, "return");
+        this.localDecisions = Counter.builder("rate.limit.local.decisions")
+            .description("Decisions made from local buckets while Redis was unavailable")
+            .register(meterRegistry);
+        this.consumeLatency = redisLatency(meterRegistry, "consume");
+        this.leaseLatency = redisLatency(meterRegistry, "lease");
+        this.heartbeatLatency = redisLatency(meterRegistry, "heartbeat");
+        Gauge.builder("rate.limit.redis.calls.per.1k", this, RateLimitMetrics::redisCallsPerThousand)
+            .description("Redis calls per 1000 rate limit decisions")
+            .register(meterRegistry);
+    }
+
+    private static Counter redisCalls(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("rate.limit.redis.calls")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static Timer redisLatency(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("rate.limit.redis.latency")
+            .description("Time from sending a rate limit script to Redis to its reply")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    Timer consumeLatency() {
+        return consumeLatency;
+    }
+
+    Timer leaseLatency() {
+        return leaseLatency;
+    }
+
+    Timer heartbeatLatency() {
+        return heartbeatLatency;
+    }
+
+    void decision() {
+        decisions.increment();
+    }
+
+    void consumeCall() {
+        consumeCalls.increment();
+    }
+
+    void leaseCall(boolean returning) {
+        (returning ? returnCalls : leaseCalls).increment();
+    }
+
+    void circuitBreaker(CircuitBreakingRateLimitStore store) {
+        Gauge.builder("rate.limit.degraded", store, s -> s.getMode() == CircuitBreakingRateLimitStore.Mode.LOCAL ? 1 : 0)
+            .register(meterRegistry);
+        Gauge.builder("rate.limit.live.nodes", store, CircuitBreakingRateLimitStore::getLiveNodes)
+            .register(meterRegistry);
+    }
+
+    void circuitTransition(CircuitBreakingRateLimitStore.Mode to) {
+        meterRegistry.counter("rate.limit.mode.changes", "mode", to.getTag()).increment();
+    }
+
+    void localDecision() {
+        localDecisions.increment();
+    }
+
+    double redisCallsPerThousand() {
+        double count = decisions.count();
+        if (count == 0) {
+            return 0;
+        }
+        return (consumeCalls.count() + leaseCalls.count() + returnCalls.count()) * 1000 / count;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tracks which nodes are rate limiting, for {@link CircuitBreakingRateLimitStore}.
+ */
+public interface RateLimitNodeRegistry {
+
+    /**
+     * Marks {@code nodeId} alive, drops nodes silent for longer than {@code ttlMicros}, and
+     * completes with the number of live nodes.
+     */
+    CompletableFuture<Long> heartbeat(byte[] key, String nodeId, long ttlMicros);
+}
@@ -0,0 +1,17 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared token bucket state for {@link RateLimitFilter}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes {@code cost} tokens from every bucket, or from none of them if any is short,
+     * as one atomic operation. Returns without waiting for a remote store; the decision
+     * completes once it has answered.
+     */
+    CompletableFuture<RateLimitDecision> consume(List<RateLimitBucket> buckets, long cost);
+}
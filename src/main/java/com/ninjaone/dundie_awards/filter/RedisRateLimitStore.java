@@ -0,0 +1,155 @@
+package com.ninjaone.dundie_awards.filter;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs {@code redis/write_rate_limit.lua}, so all buckets of a request are checked and updated
+ * in one round trip, {@code redis/write_rate_limit_lease.lua} for leasing and
+ * {@code redis/rate_limit_nodes.lua} for node heartbeats. Scripts are
+ * called by their SHA and only sent in full when Redis does not know them yet. Keys of one
+ * call must share a hash slot on Redis Cluster.
+ * <p>
+ * Calls never block: they return as soon as the command is queued on the store's own
+ * connection. With pipelining, commands are not written one by one; a flusher thread writes
+ * whatever has queued up since its last flush, so concurrent checks share socket writes.
+ */
+public class RedisRateLimitStore implements RateLimitStore, RateLimitLeaseSource, RateLimitNodeRegistry, AutoCloseable {
+
+    private final StatefulRedisConnection<byte[], byte[]> connection;
+    private final RedisAsyncCommands<byte[], byte[]> commands;
+    private final Script consumeScript;
+    private final Script leaseScript;
+    private final Script nodesScript;
+    private final RateLimitMetrics metrics;
+    private final boolean pipelined;
+    private final ExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public RedisRateLimitStore(RedisClient redisClient, String consumeScript, String leaseScript,
+                               String nodesScript, boolean pipelined, RateLimitMetrics metrics) {
+        // a connection of its own, as manual flushing would stall anyone else sharing it
+        this.connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+        this.connection.setAutoFlushCommands(!pipelined);
+        this.commands = connection.async();
+        this.consumeScript = new Script(consumeScript, commands.digest(consumeScript));
+        this.leaseScript = new Script(leaseScript, commands.digest(leaseScript));
+        this.nodesScript = new Script(nodesScript, commands.digest(nodesScript));
+        this.metrics = metrics;
+        this.pipelined = pipelined;
+        this.flusher = pipelined
+            ? Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("rate-limit-flush").factory())
+            : null;
+    }
+
+    @Override
+    public CompletableFuture<RateLimitDecision> consume(List<RateLimitBucket> buckets, long cost) {
+        byte[][] keys = new byte[buckets.size()][];
+        byte[][] args = new byte[1 + 2 * buckets.size()][];
+        args[0] = ascii(cost);
+        for (int i = 0; i < buckets.size(); i++) {
+            RateLimitBucket bucket = buckets.get(i);
+            keys[i] = bucket.key();
+            args[1 + 2 * i] = ascii(bucket.capacity());
+            args[2 + 2 * i] = ascii(bucket.refillPeriodMicros());
+        }
+        metrics.consumeCall();
+        return this.<List<Object>>run(consumeScript, ScriptOutputType.MULTI, keys, args, metrics.consumeLatency())
+            .thenApply(reply -> RateLimitDecision.fromReply(buckets, reply));
+    }
+
+    @Override
+    public CompletableFuture<List<RateLimitLease>> lease(List<RateLimitBucket> buckets, long[] amounts) {
+        byte[][] keys = new byte[buckets.size()][];
+        byte[][] args = new byte[3 * buckets.size()][];
+        boolean returning = true;
+        for (int i = 0; i < buckets.size(); i++) {
+            RateLimitBucket bucket = buckets.get(i);
+            keys[i] = bucket.key();
+            args[3 * i] = ascii(bucket.capacity());
+            args[3 * i + 1] = ascii(bucket.refillPeriodMicros());
+            args[3 * i + 2] = ascii(amounts[i]);
+            returning &= amounts[i] < 0;
+        }
+        metrics.leaseCall(returning);
+        return this.<List<Object>>run(leaseScript, ScriptOutputType.MULTI, keys, args, metrics.leaseLatency())
+            .thenApply(reply -> {
+                List<RateLimitLease> leases = new ArrayList<>(buckets.size());
+                for (int i = 0; i < buckets.size(); i++) {
+                    leases.add(new RateLimitLease(number(reply, 4 * i), number(reply, 4 * i + 1),
+                        number(reply, 4 * i + 2), number(reply, 4 * i + 3)));
+                }
+                return leases;
+            });
+    }
+
+    @Override
+    public CompletableFuture<Long> heartbeat(byte[] key, String nodeId, long ttlMicros) {
+        byte[][] args = {nodeId.getBytes(StandardCharsets.UTF_8), ascii(ttlMicros)};
+        return run(nodesScript, ScriptOutputType.INTEGER, new byte[][]{key}, args, metrics.heartbeatLatency());
+    }
+
+    /** Records into {@code latency} the time from queueing the call to its reply, or its failure. */
+    private <T> CompletableFuture<T> run(Script script, ScriptOutputType type, byte[][] keys, byte[][] args,
+                                         Timer latency) {
+        long start = System.nanoTime();
+        CompletableFuture<T> reply = commands.<T>evalsha(script.sha(), type, keys, args)
+            .toCompletableFuture()
+            .exceptionallyCompose(e -> {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                if (!(cause instanceof RedisNoScriptException)) {
+                    return CompletableFuture.failedFuture(cause);
+                }
+                // first call since Redis started or flushed its script cache; EVAL caches it again
+                CompletableFuture<T> retry = commands.<T>eval(script.source(), type, keys, args).toCompletableFuture();
+                flushSoon();
+                return retry;
+            });
+        flushSoon();
+        return reply.whenComplete((result, failure) -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private void flushSoon() {
+        if (pipelined && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                // cleared first: a command queued during the flush schedules the next one
+                flushScheduled.set(false);
+                connection.flushCommands();
+            });
+        }
+    }
+
+    private static long number(List<Object> reply, int index) {
+        return ((Number) reply.get(index)).longValue();
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        connection.close();
+    }
+
+    private record Script(String source, String sha) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.ninjaone.dundie_awards.filter;
+
+import java.util.OptionalLong;
+
+/**
+ * Prices a write in rate limit tokens. {@link RateLimitFilter} asks each estimator bean in
+ * order and charges the first estimate; writes no estimator prices cost one token. Writes are
+ * described by their REST method and path, so gRPC calls are priced like their REST twins.
+ */
+@FunctionalInterface
+public interface RequestCostEstimator {
+
+    /**
+     * @return the tokens {@code method path} should cost, or empty if this estimator does not
+     *         price it
+     */
+    OptionalLong estimate(String method, String path);
+}
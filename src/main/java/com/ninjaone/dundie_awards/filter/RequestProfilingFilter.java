@@ -0,0 +1,84 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.dto.SlowRequest;
+import com.ninjaone.dundie_awards.jdbc.SqlStatistics;
+import com.ninjaone.dundie_awards.jfr.RequestProfile;
+import com.ninjaone.dundie_awards.jfr.SlowRequestEvent;
+import com.ninjaone.dundie_awards.service.ProfilingService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Outermost filter: collects the {@link RequestProfile} of each request and, for requests
+ * slower than {@code slow-request-threshold}, logs the stage breakdown, keeps it for
+ * {@code /api/admin/profiling/slow-requests} and records a {@link SlowRequestEvent}.
+ */
+@Slf4j
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private final ProfilingService profilingService;
+    private final long thresholdNanos;
+
+    public RequestProfilingFilter(ProfilingService profilingService, Duration slowRequestThreshold) {
+        this.profilingService = profilingService;
+        this.thresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        SlowRequestEvent event = new SlowRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        RequestProfile profile = RequestProfile.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestProfile.stop();
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                capture(request, response, profile, elapsed, event);
+            }
+        }
+    }
+
+    private void capture(HttpServletRequest request, HttpServletResponse response, RequestProfile profile,
+                         long elapsedNanos, SlowRequestEvent event) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : request.getRequestURI();
+        int sqlStatements = request.getAttribute(SqlStatistics.ATTRIBUTE) instanceof SqlStatistics statistics
+            ? statistics.getStatements()
+            : 0;
+        String breakdown = profile.toString();
+        long millis = Duration.ofNanos(elapsedNanos).toMillis();
+
+        log.warn("Slow request {} {} took {}ms with {} SQL statements: {}",
+            request.getMethod(), uri, millis, sqlStatements, breakdown);
+        profilingService.recordSlowRequest(new SlowRequest(profile.getId(), Instant.now(), request.getMethod(), uri,
+            response.getStatus(), millis, sqlStatements,
+            profile.getStages().stream().map(RequestProfile.StageTotal::toString).toList()));
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestId = profile.getId();
+            event.method = request.getMethod();
+            event.uri = uri;
+            event.status = response.getStatus();
+            event.breakdown = breakdown;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.SqlStatisticsProperties;
+import com.ninjaone.dundie_awards.jdbc.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the statements, rows and JDBC time of each request and records them per endpoint as
+ * {@code request.sql.statements}, {@code request.sql.rows} and {@code request.sql.time}. A
+ * statement shape repeated {@code repeated-statement-threshold} times in one request, the mark
+ * of an N+1 query, is logged as a warning.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statistics";
+
+    private final SqlStatisticsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatisticsFilter(SqlStatisticsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatistics statistics = SqlStatistics.start();
+        request.setAttribute(SqlStatistics.ATTRIBUTE, statistics);
+        DebugHeaderResponse debugResponse = properties.isDebugHeader()
+            ? new DebugHeaderResponse(response, statistics)
+            : null;
+        try {
+            filterChain.doFilter(request, debugResponse != null ? debugResponse : response);
+        } finally {
+            SqlStatistics.stop();
+            if (debugResponse != null && !response.isCommitted()) {
+                debugResponse.addHeader();
+            }
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("request.sql.statements")
+            .description("JDBC statements run by one request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getStatements());
+        DistributionSummary.builder("request.sql.rows")
+            .description("Rows read or updated by one request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getRows());
+        Timer.builder("request.sql.time")
+            .description("Time one request spent in JDBC statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getJdbcTime());
+
+        Map<String, Integer> repeated = statistics.getRepeatedShapes(properties.getRepeatedStatementThreshold());
+        repeated.forEach((shape, count) ->
+            log.warn("{} {} ran the same statement {} times, likely an N+1 query: {}",
+                request.getMethod(), uri, count, shape));
+    }
+
+    /** Adds the header just before the response commits, when headers can still be set. */
+    private static final class DebugHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean added;
+
+        private DebugHeaderResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeader();
+        }
+
+        void addHeader() {
+            if (!added) {
+                added = true;
+                ((HttpServletResponse) getResponse()).setHeader(HEADER, statistics.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.model.Activity;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Fans new activities out to {@code WatchActivities} subscribers. A single poller reads the
+ * activities table by id for all subscribers, so the DB cost does not grow with the number
+ * of watchers and writes made by other nodes are seen as well. Polling only happens while
+ * someone is subscribed.
+ * <p>
+ * Ids are assigned at insert time, so an activity whose transaction commits after a higher id
+ * has already been polled is not delivered; the feed is a low-latency hint, and consumers
+ * that need every event should reconcile through {@code /api/activities}.
+ */
+@Slf4j
+public class ActivityFeed {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ActivityRepository activityRepository;
+    private final ActivityMapper activityMapper;
+    private final Duration pollInterval;
+    private final Set<Predicate<ActivityDto>> subscribers = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+    private long cursor = -1;
+
+    public ActivityFeed(ActivityRepository activityRepository, ActivityMapper activityMapper, Duration pollInterval) {
+        this.activityRepository = activityRepository;
+        this.activityMapper = activityMapper;
+        this.pollInterval = pollInterval;
+    }
+
+    public synchronized void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("activity-feed").factory());
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Registers a subscriber for activities recorded from now on. The subscriber is dropped once it
+     * returns {@code false}, or when the returned handle is run.
+     */
+    public synchronized Runnable subscribe(Predicate<ActivityDto> subscriber) {
+        if (cursor < 0) {
+            cursor = activityRepository.findMaxId();
+        }
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    synchronized void poll() {
+        if (subscribers.isEmpty()) {
+            // re-anchored by the next subscribe() so idle periods are not replayed
+            cursor = -1;
+            return;
+        }
+        try {
+            List<Activity> batch;
+            do {
+                batch = activityRepository.findTop500ByIdGreaterThanOrderByIdAsc(cursor);
+                for (Activity activity : batch) {
+                    // toDto only reads the employee id, which does not initialize the lazy proxy
+                    ActivityDto dto = activityMapper.toDto(activity);
+                    subscribers.removeIf(subscriber -> !subscriber.test(dto));
+                    cursor = activity.getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Activity feed poll failed, retrying in {}", pollInterval, e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.ninjaone.dundie_awards.codec.ProtobufDtoMapper;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.AwardRequest;
+import com.ninjaone.dundie_awards.exception.BusinessValidationException;
+import com.ninjaone.dundie_awards.exception.EmployeeNotFoundException;
+import com.ninjaone.dundie_awards.exception.OrganizationNotFoundException;
+import com.ninjaone.dundie_awards.exception.PreconditionFailedException;
+import com.ninjaone.dundie_awards.model.AwardType;
+import com.ninjaone.dundie_awards.proto.ActivityMessage;
+import com.ninjaone.dundie_awards.proto.AwardEmployeeRequest;
+import com.ninjaone.dundie_awards.proto.AwardKind;
+import com.ninjaone.dundie_awards.proto.BatchAwardFailure;
+import com.ninjaone.dundie_awards.proto.BatchAwardRequest;
+import com.ninjaone.dundie_awards.proto.BatchAwardResponse;
+import com.ninjaone.dundie_awards.proto.EmployeeAwardsGrpc;
+import com.ninjaone.dundie_awards.proto.EmployeeMessage;
+import com.ninjaone.dundie_awards.proto.GetEmployeeRequest;
+import com.ninjaone.dundie_awards.proto.WatchActivitiesRequest;
+import com.ninjaone.dundie_awards.service.EmployeeService;
+import com.ninjaone.dundie_awards.service.OrganizationService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * gRPC facade over {@link EmployeeService} and {@link OrganizationService}. Business errors are
+ * translated to the closest gRPC status instead of the REST {@code ApiError}.
+ */
+@Slf4j
+public class EmployeeAwardsGrpcService extends EmployeeAwardsGrpc.EmployeeAwardsImplBase {
+
+    private final EmployeeService employeeService;
+    private final OrganizationService organizationService;
+    private final ActivityFeed activityFeed;
+
+    public EmployeeAwardsGrpcService(EmployeeService employeeService,
+                                     OrganizationService organizationService,
+                                     ActivityFeed activityFeed) {
+        this.employeeService = employeeService;
+        this.organizationService = organizationService;
+        this.activityFeed = activityFeed;
+    }
+
+    @Override
+    public void getEmployee(GetEmployeeRequest request, StreamObserver<EmployeeMessage> responseObserver) {
+        try {
+            responseObserver.onNext(ProtobufDtoMapper.toMessage(
+                    employeeService.getEmployee(request.getEmployeeId(), request.getIncludeAwardBreakdown())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void awardEmployee(AwardEmployeeRequest request, StreamObserver<EmployeeMessage> responseObserver) {
+        log.info("gRPC AwardEmployee by {} - employee {} ({})",
+                JwtServerInterceptor.USERNAME.get(), request.getEmployeeId(), request.getAwardType());
+        try {
+            AwardRequest award = new AwardRequest(toAwardType(request.getAwardType()));
+            responseObserver.onNext(ProtobufDtoMapper.toMessage(
+                    employeeService.awardEmployee(request.getEmployeeId(), award)));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public StreamObserver<BatchAwardRequest> batchAward(StreamObserver<BatchAwardResponse> responseObserver) {
+        String username = JwtServerInterceptor.USERNAME.get();
+        BatchAwardResponse.Builder result = BatchAwardResponse.newBuilder();
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(BatchAwardRequest request) {
+                result.setRequests(result.getRequests() + 1);
+                try {
+                    AwardType awardType = toAwardType(request.getAwardType());
+                    int awarded = switch (request.getTargetCase()) {
+                        case EMPLOYEE_ID -> {
+                            employeeService.awardEmployee(request.getEmployeeId(), new AwardRequest(awardType));
+                            yield 1;
+                        }
+                        case ORGANIZATION_ID -> organizationService
+                                .awardAllEmployeesInOrganization(request.getOrganizationId(), awardType)
+                                .size();
+                        case TARGET_NOT_SET -> throw new BusinessValidationException("Award target is required");
+                    };
+                    result.setEmployeesAwarded(result.getEmployeesAwarded() + awarded);
+                } catch (RuntimeException e) {
+                    // one bad entry must not abort the rest of the batch
+                    result.addFailures(BatchAwardFailure.newBuilder()
+                            .setRequest(request)
+                            .setReason(String.valueOf(toStatus(e).getStatus().getDescription())));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("gRPC BatchAward from {} aborted by client: {}", username, t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                log.info("gRPC BatchAward by {} - {} requests, {} employees awarded, {} failures",
+                        username, result.getRequests(), result.getEmployeesAwarded(), result.getFailuresCount());
+                responseObserver.onNext(result.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void watchActivities(WatchActivitiesRequest request, StreamObserver<ActivityMessage> responseObserver) {
+        ServerCallStreamObserver<ActivityMessage> observer = (ServerCallStreamObserver<ActivityMessage>) responseObserver;
+        Long employeeId = request.hasEmployeeId() ? request.getEmployeeId() : null;
+        Predicate<ActivityDto> subscriber = activity -> {
+            if (observer.isCancelled()) {
+                return false;
+            }
+            if (employeeId != null && !employeeId.equals(activity.employeeId())) {
+                return true;
+            }
+            if (!observer.isReady()) {
+                // the client is not draining its stream; drop it rather than buffer without bound
+                observer.onError(Status.RESOURCE_EXHAUSTED
+                        .withDescription("Consumer is too slow").asRuntimeException());
+                return false;
+            }
+            observer.onNext(ProtobufDtoMapper.toMessage(activity));
+            return true;
+        };
+        // handlers must be in place before the feed can call onNext from its own thread
+        AtomicReference<Runnable> unsubscribe = new AtomicReference<>(() -> { });
+        observer.setOnCancelHandler(() -> unsubscribe.get().run());
+        unsubscribe.set(activityFeed.subscribe(subscriber));
+    }
+
+    private static AwardType toAwardType(AwardKind kind) {
+        if (kind == AwardKind.AWARD_KIND_UNSPECIFIED || kind == AwardKind.UNRECOGNIZED) {
+            throw new BusinessValidationException("Award type is required");
+        }
+        return AwardType.valueOf(kind.name());
+    }
+
+    private static StatusRuntimeException toStatus(RuntimeException e) {
+        Status status;
+        if (e instanceof EmployeeNotFoundException || e instanceof OrganizationNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (e instanceof BusinessValidationException) {
+            status = Status.INVALID_ARGUMENT;
+        } else if (e instanceof PreconditionFailedException) {
+            status = Status.FAILED_PRECONDITION;
+        } else if (e instanceof OptimisticLockingFailureException) {
+            status = Status.ABORTED;
+        } else {
+            log.error("Unexpected error in gRPC call", e);
+            return Status.INTERNAL.withDescription("Unexpected error").asRuntimeException();
+        }
+        return status.withDescription(e.getMessage()).asRuntimeException();
+    }
+}
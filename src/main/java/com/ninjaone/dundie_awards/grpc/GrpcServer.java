@@ -0,0 +1,90 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC services on their own Netty port, next to the servlet container. Calls are
+ * dispatched on virtual threads, so blocking service and JDBC calls do not pin Netty's event loop.
+ */
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private final int port;
+    private final List<BindableService> services;
+    private final List<ServerInterceptor> interceptors;
+    private final ActivityFeed activityFeed;
+
+    private Server server;
+    private ExecutorService executor;
+
+    /** {@code interceptors} run in list order, the first one seeing each call first. */
+    public GrpcServer(int port, List<BindableService> services, List<ServerInterceptor> interceptors,
+                      ActivityFeed activityFeed) {
+        this.port = port;
+        this.services = services;
+        this.interceptors = List.copyOf(interceptors);
+        this.activityFeed = activityFeed;
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port).executor(executor);
+        for (BindableService service : services) {
+            builder.addService(ServerInterceptors.interceptForward(service, interceptors));
+        }
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.close();
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+        activityFeed.start();
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        activityFeed.stop();
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        server = null;
+        log.info("gRPC server stopped");
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The bound port, which differs from the configured one when that is 0.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : port;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.ninjaone.dundie_awards.config.JwtTokenProvider;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects calls without a valid {@code authorization: Bearer <jwt>} metadata entry, using the
+ * same tokens as the REST API. The caller's username is exposed through {@link #USERNAME}.
+ */
+@Slf4j
+public class JwtServerInterceptor implements ServerInterceptor {
+
+    public static final Context.Key<String> USERNAME = Context.key("username");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider tokenProvider;
+
+    public JwtServerInterceptor(JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return reject(call, "Missing bearer token");
+        }
+        JwtTokenProvider.VerifiedToken token;
+        try {
+            token = tokenProvider.verify(authorization.substring(BEARER_PREFIX.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected gRPC call {}: {}", call.getMethodDescriptor().getFullMethodName(), e.getMessage());
+            return reject(call, "Invalid bearer token");
+        }
+        Context context = Context.current().withValue(USERNAME, token.username());
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+
+    private static <Q, R> ServerCall.Listener<Q> reject(ServerCall<Q, R> call, String description) {
+        call.close(Status.UNAUTHENTICATED.withDescription(description), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.ninjaone.dundie_awards.filter.Bulkhead;
+import com.ninjaone.dundie_awards.filter.BulkheadFilter;
+import com.ninjaone.dundie_awards.filter.EndpointGroup;
+import com.ninjaone.dundie_awards.filter.RateLimitDecision;
+import com.ninjaone.dundie_awards.filter.RateLimitFilter;
+import com.ninjaone.dundie_awards.proto.AwardEmployeeRequest;
+import com.ninjaone.dundie_awards.proto.BatchAwardRequest;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts gRPC writes under the same limits as their REST twins: each award, including every entry
+ * of a {@code BatchAward} stream, is charged to the write rate limit as the equivalent
+ * {@code POST .../awards} and holds a permit of the same bulkhead while it runs. A rejected
+ * award ends the call with {@code RESOURCE_EXHAUSTED} (with a {@code retry-after} trailer in
+ * seconds) or, when the bulkhead is full, {@code UNAVAILABLE}; batch entries before it stay
+ * applied. Must run after {@link JwtServerInterceptor}, which provides the caller.
+ */
+@Slf4j
+public class WriteLimitServerInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> RETRY_AFTER =
+            Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String METHOD = HttpMethod.POST.name();
+    private static final String BULKHEAD_RETRY_AFTER_SECONDS = "1";
+
+    private final RateLimitFilter rateLimitFilter;
+    private final BulkheadFilter bulkheadFilter;
+
+    /** Either may be {@code null} when that limit is switched off. */
+    public WriteLimitServerInterceptor(RateLimitFilter rateLimitFilter, BulkheadFilter bulkheadFilter) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.bulkheadFilter = bulkheadFilter;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        ServerCall.Listener<Q> delegate = next.startCall(call, headers);
+        if (rateLimitFilter == null && bulkheadFilter == null) {
+            return delegate;
+        }
+        return new LimitingListener<>(call, delegate);
+    }
+
+    /** The REST path of the write a message performs, or {@code null} if it is not a write. */
+    static String restPath(Object message) {
+        if (message instanceof AwardEmployeeRequest award) {
+            return "/api/employees/" + award.getEmployeeId() + "/awards";
+        }
+        if (message instanceof BatchAwardRequest award) {
+            return switch (award.getTargetCase()) {
+                case EMPLOYEE_ID -> "/api/employees/" + award.getEmployeeId() + "/awards";
+                case ORGANIZATION_ID -> "/api/organizations/" + award.getOrganizationId() + "/awards";
+                case TARGET_NOT_SET -> null;
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Unary handlers run the method when the client half-closes, streaming ones on each message,
+     * so a unary call keeps its permit until after {@link #onHalfClose()}.
+     */
+    private final class LimitingListener<Q, R>
+            extends ForwardingServerCallListener.SimpleForwardingServerCallListener<Q> {
+
+        private final ServerCall<Q, R> call;
+        private final boolean unary;
+        private Bulkhead heldBulkhead;
+        private long heldSince;
+        private boolean closed;
+
+        private LimitingListener(ServerCall<Q, R> call, ServerCall.Listener<Q> delegate) {
+            super(delegate);
+            this.call = call;
+            this.unary = call.getMethodDescriptor().getType() == MethodDescriptor.MethodType.UNARY;
+        }
+
+        @Override
+        public void onMessage(Q message) {
+            if (closed) {
+                return;
+            }
+            String path = restPath(message);
+            if (path == null) {
+                super.onMessage(message);
+                return;
+            }
+            if (!admit(path)) {
+                return;
+            }
+            if (unary) {
+                super.onMessage(message);
+                return;
+            }
+            try {
+                super.onMessage(message);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void onHalfClose() {
+            if (closed) {
+                return;
+            }
+            try {
+                super.onHalfClose();
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void onCancel() {
+            release();
+            super.onCancel();
+        }
+
+        @Override
+        public void onComplete() {
+            release();
+            super.onComplete();
+        }
+
+        private boolean admit(String path) {
+            if (rateLimitFilter != null) {
+                Optional<RateLimitDecision> decision = rateLimitFilter.checkWrite(
+                        METHOD, path, JwtServerInterceptor.USERNAME.get());
+                if (decision.isPresent() && !decision.get().allowed()) {
+                    long retryAfterSeconds = Math.max(1, TimeUnit.MICROSECONDS.toSeconds(
+                            decision.get().microsToRefill() + TimeUnit.SECONDS.toMicros(1) - 1));
+                    log.warn("Rate limit exceeded ({} layer) for gRPC {} {}",
+                            decision.get().bucket().layer().getTag(), METHOD, path);
+                    close(Status.RESOURCE_EXHAUSTED.withDescription(
+                            "Rate limit exceeded (" + decision.get().bucket().layer().getTag() + " limit)"),
+                            String.valueOf(retryAfterSeconds));
+                    return false;
+                }
+            }
+            if (bulkheadFilter != null) {
+                EndpointGroup group = EndpointGroup.classify(METHOD, path);
+                Bulkhead bulkhead = bulkheadFilter.getBulkhead(group);
+                if (bulkhead != null) {
+                    boolean acquired;
+                    try {
+                        // every gRPC caller is authenticated, like an interactive REST request
+                        acquired = bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        acquired = false;
+                    }
+                    if (!acquired) {
+                        log.warn("Bulkhead {} is full, rejecting gRPC {} {}", group, METHOD, path);
+                        close(Status.UNAVAILABLE.withDescription("Server is busy"), BULKHEAD_RETRY_AFTER_SECONDS);
+                        return false;
+                    }
+                    heldBulkhead = bulkhead;
+                    heldSince = System.nanoTime();
+                }
+            }
+            return true;
+        }
+
+        private void release() {
+            if (heldBulkhead != null) {
+                heldBulkhead.release(Bulkhead.Priority.INTERACTIVE, System.nanoTime() - heldSince);
+                heldBulkhead = null;
+            }
+        }
+
+        private void close(Status status, String retryAfterSeconds) {
+            closed = true;
+            Metadata trailers = new Metadata();
+            trailers.put(RETRY_AFTER, retryAfterSeconds);
+            call.close(status, trailers);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ninjaone.dundie_awards.jdbc;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Observes each statement as {@code jdbc.query}, a child span of whatever is being observed on
+ * the calling thread. Statements run outside an observation, such as schema setup, are skipped.
+ */
+public class QueryObservationListener implements QueryExecutionListener {
+
+    private static final String OBSERVATION = "queryObservation";
+
+    /** Set once the context is up; the data source is used before the registry exists. */
+    private volatile ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ObservationRegistry registry = observationRegistry;
+        if (registry.isNoop() || registry.getCurrentObservation() == null) {
+            return;
+        }
+        String statement = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        Observation observation = Observation.createNotStarted("jdbc.query", registry)
+            .contextualName("query")
+            .highCardinalityKeyValue(KeyValue.of("db.statement", statement))
+            .start();
+        execInfo.addCustomValue(OBSERVATION, observation);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        if (execInfo.isBatch()) {
+            observation.highCardinalityKeyValue("db.batch.size", Integer.toString(execInfo.getBatchSize()));
+        }
+        observation.stop();
+    }
+}
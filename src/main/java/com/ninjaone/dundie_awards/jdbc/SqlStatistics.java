@@ -0,0 +1,75 @@
+package com.ninjaone.dundie_awards.jdbc;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC work done by one HTTP request: statements run, rows read or updated, time spent in the
+ * driver, and how often each statement shape ran. Bound to the request thread between
+ * {@link #start()} and {@link #stop()}; statements run on other threads are not counted.
+ */
+public final class SqlStatistics {
+
+    /** Request attribute holding the statistics of the current request. */
+    public static final String ATTRIBUTE = SqlStatistics.class.getName();
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    synchronized void statement(String shape, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    synchronized void rows(long count) {
+        rows += count;
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public synchronized Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /** Statement shapes that ran at least {@code threshold} times, most frequent first. */
+    public synchronized Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+            .filter(entry -> entry.getValue() >= threshold)
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "statements=" + statements + ", rows=" + rows + ", time=" + jdbcNanos / 1000 + "us";
+    }
+}
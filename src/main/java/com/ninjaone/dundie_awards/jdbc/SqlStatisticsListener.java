@@ -0,0 +1,97 @@
+package com.ninjaone.dundie_awards.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Feeds the statements run through the proxied data source into the {@link SqlStatistics} of
+ * the current request, if any. Rows are those updated, plus those read through
+ * {@link ResultSet#next()}.
+ */
+public class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_NANOS = "sqlStatistics.startNanos";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatistics.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (statistics == null || start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        // a batch is one round trip; its time is charged to the first statement
+        for (QueryInfo query : queryInfoList) {
+            statistics.statement(shape(query.getQuery()), nanos);
+            nanos = 0;
+        }
+        statistics.rows(updatedRows(execInfo.getResult()));
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.rows(1);
+            }
+        }
+    }
+
+    /**
+     * The statement with literals and parameter lists collapsed, so that the same query with
+     * different arguments has the same shape.
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    private static long updatedRows(Object result) {
+        return switch (result) {
+            case Integer count -> Math.max(0, count);
+            case Long count -> Math.max(0, count);
+            case int[] counts -> {
+                long sum = 0;
+                for (int count : counts) {
+                    sum += Math.max(0, count);
+                }
+                yield sum;
+            }
+            case long[] counts -> {
+                long sum = 0;
+                for (long count : counts) {
+                    sum += Math.max(0, count);
+                }
+                yield sum;
+            }
+            case null, default -> 0;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.ninjaone.dundie_awards.jfr;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times Hibernate flushes as request stages. Hibernate creates one per session, through
+ * {@code hibernate.session.events.auto}.
+ */
+public class FlushStageListener extends BaseSessionEventListener {
+
+    private RequestProfile.StageTimer flush;
+
+    @Override
+    public void flushStart() {
+        flush = RequestProfile.stage(Stage.FLUSH, "flush");
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        if (flush != null) {
+            flush.close();
+            flush = null;
+        }
+    }
+}
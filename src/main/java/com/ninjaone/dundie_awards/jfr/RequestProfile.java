@@ -0,0 +1,121 @@
+package com.ninjaone.dundie_awards.jfr;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Where one HTTP request spent its time, by stage and operation. Bound to the request thread
+ * between {@link #start()} and {@link #stop()}; {@link #stage} times a stage into it and, while
+ * a flight recording is running, into a {@link RequestStageEvent}.
+ */
+public final class RequestProfile {
+
+    private static final AtomicLong IDS = new AtomicLong();
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long id = IDS.incrementAndGet();
+    private final Map<StageKey, long[]> totals = new HashMap<>();
+
+    private record StageKey(Stage stage, String operation) {
+    }
+
+    /** Inclusive time of every call to one operation, e.g. a service method called twice. */
+    public record StageTotal(Stage stage, String operation, long count, Duration total) {
+
+        @Override
+        public String toString() {
+            return stage + " " + operation + " " + count + "x " + TimeUnit.NANOSECONDS.toMillis(total.toNanos()) + "ms";
+        }
+    }
+
+    public static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Times a stage until the returned timer is closed. Costs next to nothing when there is
+     * neither a current request nor a recording.
+     */
+    public static StageTimer stage(Stage stage, String operation) {
+        RequestProfile profile = CURRENT.get();
+        RequestStageEvent event = new RequestStageEvent();
+        if (profile == null && !event.isEnabled()) {
+            return StageTimer.NOOP;
+        }
+        event.begin();
+        return new StageTimer(profile, event, stage, operation, System.nanoTime());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /** The stages, slowest first. */
+    public synchronized List<StageTotal> getStages() {
+        return totals.entrySet().stream()
+            .map(entry -> new StageTotal(entry.getKey().stage(), entry.getKey().operation(),
+                entry.getValue()[0], Duration.ofNanos(entry.getValue()[1])))
+            .sorted(Comparator.comparing(StageTotal::total).reversed())
+            .toList();
+    }
+
+    @Override
+    public String toString() {
+        return getStages().stream().map(StageTotal::toString).collect(Collectors.joining("; "));
+    }
+
+    private synchronized void add(Stage stage, String operation, long nanos) {
+        long[] total = totals.computeIfAbsent(new StageKey(stage, operation), key -> new long[2]);
+        total[0]++;
+        total[1] += nanos;
+    }
+
+    public static final class StageTimer implements AutoCloseable {
+
+        private static final StageTimer NOOP = new StageTimer(null, null, null, null, 0);
+
+        private final RequestProfile profile;
+        private final RequestStageEvent event;
+        private final Stage stage;
+        private final String operation;
+        private final long startNanos;
+
+        private StageTimer(RequestProfile profile, RequestStageEvent event, Stage stage, String operation,
+                           long startNanos) {
+            this.profile = profile;
+            this.event = event;
+            this.stage = stage;
+            this.operation = operation;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (this == NOOP) {
+                return;
+            }
+            if (profile != null) {
+                profile.add(stage, operation, System.nanoTime() - startNanos);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.requestId = profile != null ? profile.id : 0;
+                event.stage = stage.name();
+                event.operation = operation;
+                event.commit();
+            }
+        }
+    }
+}
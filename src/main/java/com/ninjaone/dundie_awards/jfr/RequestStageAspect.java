@@ -0,0 +1,43 @@
+package com.ninjaone.dundie_awards.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+/** Times service methods and Spring Data repository calls as request stages. */
+@Aspect
+public class RequestStageAspect {
+
+    /** Simple name of the bean behind a proxy class; for repositories, of the interface we declared. */
+    private static final ClassValue<String> BEAN_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyType) {
+            for (Class<?> candidate : proxyType.getInterfaces()) {
+                if (candidate != Repository.class && Repository.class.isAssignableFrom(candidate)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(proxyType).getSimpleName();
+        }
+    };
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (RequestProfile.StageTimer ignored = RequestProfile.stage(Stage.SERVICE, operation(joinPoint))) {
+            return joinPoint.proceed();
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (RequestProfile.StageTimer ignored = RequestProfile.stage(Stage.REPOSITORY, operation(joinPoint))) {
+            return joinPoint.proceed();
+        }
+    }
+
+    private static String operation(ProceedingJoinPoint joinPoint) {
+        return BEAN_NAMES.get(joinPoint.getThis().getClass()) + "." + joinPoint.getSignature().getName();
+    }
+}
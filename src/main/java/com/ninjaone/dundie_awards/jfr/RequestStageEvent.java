@@ -0,0 +1,30 @@
+package com.ninjaone.dundie_awards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of an HTTP request. Stages nest: a service call includes the repository calls and
+ * flushes it makes.
+ */
+@Name("dundie_awards.RequestStage")
+@Label("Request Stage")
+@Category({"Dundie Awards", "HTTP"})
+@Description("Time a request spent in a filter, service method, repository call, Hibernate flush or serialization")
+@StackTrace(false)
+public class RequestStageEvent extends Event {
+
+    @Label("Request Id")
+    @Description("Correlates the stages of one request; 0 outside a request")
+    long requestId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Operation")
+    String operation;
+}
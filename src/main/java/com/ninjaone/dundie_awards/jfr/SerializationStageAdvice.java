@@ -0,0 +1,57 @@
+package com.ninjaone.dundie_awards.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Times writing a response body as a request stage: from just before the message converter
+ * runs until the handler completes. Registered as an interceptor by {@code ProfilingConfig}.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class SerializationStageAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    private static final String TIMER = SerializationStageAdvice.class.getName() + ".timer";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> converterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest servlet = servletRequest.getServletRequest();
+            closeTimer(servlet); // an error body written after a failed one
+            servlet.setAttribute(TIMER, RequestProfile.stage(Stage.SERIALIZATION, contentType.toString()));
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        closeTimer(request);
+    }
+
+    private static void closeTimer(HttpServletRequest request) {
+        if (request.getAttribute(TIMER) instanceof RequestProfile.StageTimer timer) {
+            request.removeAttribute(TIMER);
+            timer.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ninjaone.dundie_awards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A request slower than {@code profiling.slow-request-threshold}, with its stage breakdown.
+ * Committed by {@code RequestProfilingFilter}.
+ */
+@Name("dundie_awards.SlowRequest")
+@Label("Slow Request")
+@Category({"Dundie Awards", "HTTP"})
+@StackTrace(false)
+public class SlowRequestEvent extends Event {
+
+    @Label("Request Id")
+    public long requestId;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Breakdown")
+    @Description("Total time and count per stage and operation")
+    public String breakdown;
+}
@@ -0,0 +1,9 @@
+package com.ninjaone.dundie_awards.jfr;
+
+public enum Stage {
+    FILTER,
+    SERVICE,
+    REPOSITORY,
+    FLUSH,
+    SERIALIZATION
+}
@@ -0,0 +1,219 @@
+package com.ninjaone.dundie_awards.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
+import com.ninjaone.dundie_awards.model.AwardType;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written serializers for the DTOs on our hot read paths. They produce exactly the JSON
+ * Jackson would derive from the records, but write pre-encoded field names straight to the
+ * generator instead of going through bean introspection and property writers.
+ */
+@JsonComponent
+public class DtoSerializers {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString[] AWARD_TYPE_NAMES = new SerializedString[AwardType.values().length];
+
+    static {
+        for (AwardType type : AwardType.values()) {
+            AWARD_TYPE_NAMES[type.ordinal()] = new SerializedString(type.name());
+        }
+    }
+
+    public static class EmployeeDtoSerializer extends StdSerializer<EmployeeDto> {
+
+        private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+        private static final SerializedString LAST_NAME = new SerializedString("lastName");
+        private static final SerializedString ORGANIZATION_ID = new SerializedString("organizationId");
+        private static final SerializedString ORGANIZATION_NAME = new SerializedString("organizationName");
+        private static final SerializedString DUNDIE_AWARDS = new SerializedString("dundieAwards");
+        private static final SerializedString VERSION = new SerializedString("version");
+        private static final SerializedString AWARD_BREAKDOWN = new SerializedString("awardBreakdown");
+
+        public EmployeeDtoSerializer() {
+            super(EmployeeDto.class);
+        }
+
+        @Override
+        public void serialize(EmployeeDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.id());
+            writeString(gen, FIRST_NAME, value.firstName());
+            writeString(gen, LAST_NAME, value.lastName());
+            writeNumber(gen, ORGANIZATION_ID, value.organizationId());
+            writeString(gen, ORGANIZATION_NAME, value.organizationName());
+            writeNumber(gen, DUNDIE_AWARDS, value.dundieAwards());
+            writeNumber(gen, VERSION, value.version());
+            // awardBreakdown is @JsonInclude(NON_NULL)
+            Map<AwardType, Integer> breakdown = value.awardBreakdown();
+            if (breakdown != null) {
+                gen.writeFieldName(AWARD_BREAKDOWN);
+                gen.writeStartObject();
+                for (Map.Entry<AwardType, Integer> entry : breakdown.entrySet()) {
+                    writeNumber(gen, AWARD_TYPE_NAMES[entry.getKey().ordinal()], entry.getValue());
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static class OrganizationDtoSerializer extends StdSerializer<OrganizationDto> {
+
+        private static final SerializedString NAME = new SerializedString("name");
+
+        public OrganizationDtoSerializer() {
+            super(OrganizationDto.class);
+        }
+
+        @Override
+        public void serialize(OrganizationDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.id());
+            writeString(gen, NAME, value.name());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class ActivityDtoSerializer extends StdSerializer<ActivityDto> {
+
+        private static final SerializedString OCCURRED_AT = new SerializedString("occurredAt");
+        private static final SerializedString EMPLOYEE_ID = new SerializedString("employeeId");
+        private static final SerializedString EVENT = new SerializedString("event");
+
+        public ActivityDtoSerializer() {
+            super(ActivityDto.class);
+        }
+
+        @Override
+        public void serialize(ActivityDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeNumber(gen, ID, value.id());
+            gen.writeFieldName(OCCURRED_AT);
+            writeInstant(gen, provider, value.occurredAt());
+            writeNumber(gen, EMPLOYEE_ID, value.employeeId());
+            writeString(gen, EVENT, value.event() == null ? null : value.event().name());
+            gen.writeEndObject();
+        }
+
+        private static void writeInstant(JsonGenerator gen, SerializerProvider provider, Instant instant)
+                throws IOException {
+            if (instant == null) {
+                gen.writeNull();
+            } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                provider.defaultSerializeValue(instant, gen);
+            } else {
+                // same ISO-8601 form as the JavaTimeModule InstantSerializer
+                gen.writeString(instant.toString());
+            }
+        }
+    }
+
+    /**
+     * Writes the page items one by one as the list is iterated, so a lazily mapped page
+     * (see {@link PageResponse#from(org.springframework.data.domain.Page, java.util.function.Function)})
+     * never holds more than one DTO at a time.
+     */
+    public static class PageResponseSerializer extends StdSerializer<PageResponse<?>> {
+
+        private static final SerializedString ITEMS = new SerializedString("items");
+        private static final SerializedString PAGE = new SerializedString("page");
+        private static final SerializedString SIZE = new SerializedString("size");
+        private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+        private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+        private static final SerializedString FIRST = new SerializedString("first");
+        private static final SerializedString LAST = new SerializedString("last");
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public PageResponseSerializer() {
+            super((Class) PageResponse.class);
+        }
+
+        @Override
+        public void serialize(PageResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ITEMS);
+            writeItems(value.items(), gen, provider);
+            gen.writeFieldName(PAGE);
+            gen.writeNumber(value.page());
+            gen.writeFieldName(SIZE);
+            gen.writeNumber(value.size());
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(value.totalElements());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(value.totalPages());
+            gen.writeFieldName(FIRST);
+            gen.writeBoolean(value.first());
+            gen.writeFieldName(LAST);
+            gen.writeBoolean(value.last());
+            gen.writeEndObject();
+        }
+
+        private static void writeItems(List<?> items, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (items == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartArray(items, items.size());
+            // pages are homogeneous, so the serializer lookup effectively happens once
+            Class<?> lastType = null;
+            JsonSerializer<Object> serializer = null;
+            for (Object item : items) {
+                if (item == null) {
+                    provider.defaultSerializeNull(gen);
+                    continue;
+                }
+                if (item.getClass() != lastType) {
+                    lastType = item.getClass();
+                    serializer = provider.findValueSerializer(lastType);
+                }
+                serializer.serialize(item, gen, provider);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+}
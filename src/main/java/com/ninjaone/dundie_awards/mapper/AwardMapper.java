@@ -0,0 +1,17 @@
+package com.ninjaone.dundie_awards.mapper;
+
+import com.ninjaone.dundie_awards.dto.AwardDto;
+import com.ninjaone.dundie_awards.model.Award;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AwardMapper {
+
+    @Mapping(target="employeeId", source="employee.id")
+    AwardDto toDto(Award award);
+
+    List<AwardDto> toDtoList(List<Award> awards);
+}
@@ -3,24 +3,39 @@ package com.ninjaone.dundie_awards.mapper;
 import com.ninjaone.dundie_awards.dto.EmployeeDto;
 import com.ninjaone.dundie_awards.dto.EmployeeRequest;
 import com.ninjaone.dundie_awards.dto.UpdateEmployeeRequest;
+import com.ninjaone.dundie_awards.model.AwardCounts;
+import com.ninjaone.dundie_awards.model.AwardType;
 import com.ninjaone.dundie_awards.model.Employee;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper(componentModel = "spring")
 public interface EmployeeMapper {
 
     @Mapping(target = "organizationId", source = "organization.id")
     @Mapping(target = "organizationName", source = "organization.name")
+    @Mapping(target = "awardBreakdown", ignore = true)
     EmployeeDto toDto(Employee employee);
 
+    @Named("withAwardBreakdown")
+    @Mapping(target = "organizationId", source = "organization.id")
+    @Mapping(target = "organizationName", source = "organization.name")
+    @Mapping(target = "awardBreakdown", source = "awardCounts")
+    EmployeeDto toDtoWithAwardBreakdown(Employee employee);
+
     List<EmployeeDto> toDtoList(List<Employee> employees);
 
+    default Map<AwardType, Integer> toAwardBreakdown(AwardCounts awardCounts) {
+        return awardCounts == null ? null : awardCounts.asMap();
+    }
+
     @Mapping(target = "organization", ignore = true)
     @Mapping(target = "dundieAwards", constant = "0")
     @Mapping(target = "awards", ignore = true)
@@ -0,0 +1,93 @@
+package com.ninjaone.dundie_awards.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-{@link AwardType} award counters, packed into the {@code employees} row next to
+ * {@code dundie_awards} so the total and the breakdown are written by the same UPDATE
+ * and read without touching the {@code awards} table.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+public class AwardCounts {
+
+    @ColumnDefault("0")
+    @Column(name = "helped_teammate_awards", nullable = false)
+    private int helpedTeammate;
+
+    @ColumnDefault("0")
+    @Column(name = "completed_project_awards", nullable = false)
+    private int completedProject;
+
+    @ColumnDefault("0")
+    @Column(name = "mentored_colleague_awards", nullable = false)
+    private int mentoredColleague;
+
+    @ColumnDefault("0")
+    @Column(name = "innovation_awards", nullable = false)
+    private int innovation;
+
+    @ColumnDefault("0")
+    @Column(name = "customer_satisfaction_awards", nullable = false)
+    private int customerSatisfaction;
+
+    public int get(AwardType type) {
+        return switch (type) {
+            case HELPED_TEAMMATE -> helpedTeammate;
+            case COMPLETED_PROJECT -> completedProject;
+            case MENTORED_COLLEAGUE -> mentoredColleague;
+            case INNOVATION -> innovation;
+            case CUSTOMER_SATISFACTION -> customerSatisfaction;
+        };
+    }
+
+    /**
+     * Returns the first award type, in declaration order, that still has awards to remove.
+     */
+    public Optional<AwardType> firstNonZero() {
+        for (AwardType type : AwardType.values()) {
+            if (get(type) > 0) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Map<AwardType, Integer> asMap() {
+        Map<AwardType, Integer> breakdown = new EnumMap<>(AwardType.class);
+        for (AwardType type : AwardType.values()) {
+            breakdown.put(type, get(type));
+        }
+        return breakdown;
+    }
+
+    void increment(AwardType type) {
+        add(type, 1);
+    }
+
+    void decrement(AwardType type) {
+        if (get(type) <= 0) {
+            throw new IllegalStateException("No " + type + " awards to remove");
+        }
+        add(type, -1);
+    }
+
+    private void add(AwardType type, int delta) {
+        switch (type) {
+            case HELPED_TEAMMATE -> helpedTeammate += delta;
+            case COMPLETED_PROJECT -> completedProject += delta;
+            case MENTORED_COLLEAGUE -> mentoredColleague += delta;
+            case INNOVATION -> innovation += delta;
+            case CUSTOMER_SATISFACTION -> customerSatisfaction += delta;
+        }
+    }
+}
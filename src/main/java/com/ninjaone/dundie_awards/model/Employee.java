@@ -12,6 +12,8 @@ import lombok.Builder;
 import lombok.AccessLevel;
 import lombok.NonNull;
 
+import org.hibernate.annotations.ColumnDefault;
+
 @Entity
 @Table(name = "employees")
 @Getter
@@ -47,6 +49,16 @@ public class Employee {
            orphanRemoval = false)
     private List<Award> awards = new ArrayList<>();
 
+    @Embedded
+    @Setter(AccessLevel.NONE)
+    private AwardCounts awardCounts = new AwardCounts();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @Builder
     private Employee(String firstName, String lastName, Integer dundieAwards, Organization organization, List<Award> awards) {
         this.firstName = firstName;
@@ -60,7 +72,27 @@ public class Employee {
         awards.add(award);
         award.setEmployee(this); // keep both sides in sync
 
+        recordAward(award.getType());
+    }
+
+    /**
+     * Bumps the total and the per-type counter together so they are flushed in one UPDATE.
+     */
+    public void recordAward(AwardType type) {
         int current = (dundieAwards == null ? 0 : dundieAwards);
         dundieAwards = current + 1;
+        awardCounts.increment(type);
+    }
+
+    /**
+     * Decrements the total and, when known, the per-type counter. A {@code null} type is
+     * used for awards granted before per-type counters existed.
+     */
+    public void revokeAward(AwardType type) {
+        int current = (dundieAwards == null ? 0 : dundieAwards);
+        dundieAwards = current - 1;
+        if (type != null) {
+            awardCounts.decrement(type);
+        }
     }
-}
\ No newline at end of file
+}
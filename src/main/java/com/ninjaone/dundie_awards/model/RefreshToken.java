@@ -0,0 +1,64 @@
+package com.ninjaone.dundie_awards.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+import lombok.NonNull;
+
+import java.time.Instant;
+
+/**
+ * A refresh token, stored only as its SHA-256 hash. Every refresh token belongs to a family
+ * that starts at login; each refresh marks the presented token used and adds a successor
+ * to the same family.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_family", columnList = "family_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private Long id;
+
+    @NonNull
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @NonNull
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @NonNull
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @NonNull
+    @Column(name = "issued_at", nullable = false)
+    private Instant issuedAt;
+
+    @NonNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    @Builder
+    private RefreshToken(String tokenHash, String familyId, String username, Instant issuedAt, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.username = username;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ninjaone.dundie_awards.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+import lombok.NonNull;
+
+import java.time.Instant;
+
+/**
+ * An access token revoked before its expiry, by {@code jti}. Rows are only needed until the
+ * token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private Long id;
+
+    @NonNull
+    @Column(name = "token_id", nullable = false, unique = true, length = 64)
+    private String tokenId;
+
+    @NonNull
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @NonNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @NonNull
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Builder
+    private RevokedToken(String tokenId, String username, Instant expiresAt, Instant revokedAt) {
+        this.tokenId = tokenId;
+        this.username = username;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -1,16 +1,19 @@
 package com.ninjaone.dundie_awards.model;
 
+import com.ninjaone.dundie_awards.service.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,5 +40,11 @@ public class User {
     @Column(nullable = false)
     @Builder.Default
     private Boolean enabled = true;
+
+    /** Also bumped by role changes, so they reach {@link UserChangeListener} as an update. */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
 
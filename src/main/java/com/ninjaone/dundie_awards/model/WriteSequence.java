@@ -0,0 +1,29 @@
+package com.ninjaone.dundie_awards.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Monotonic counter bumped by every transaction that writes to a collection. List pages use it
+ * as their ETag, so a conditional GET costs one primary-key lookup instead of a page query.
+ */
+@Entity
+@Table(name = "write_sequences")
+@Getter
+@NoArgsConstructor
+public class WriteSequence {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "name", length = 32)
+    private WriteSequenceName name;
+
+    @Column(name = "seq_value", nullable = false)
+    private long value;
+
+    public WriteSequence(WriteSequenceName name, long value) {
+        this.name = name;
+        this.value = value;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ninjaone.dundie_awards.model;
+
+/**
+ * Collections whose list endpoints are versioned by a {@link WriteSequence}.
+ */
+public enum WriteSequenceName {
+    EMPLOYEES,
+    ORGANIZATIONS,
+    ACTIVITIES
+}
@@ -1,10 +1,37 @@
 package com.ninjaone.dundie_awards.repository;
 
 import com.ninjaone.dundie_awards.model.Activity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
+    @Query("select a from Activity a where a.id > :afterId order by a.id")
+    List<Activity> findOldestAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    List<Activity> findTop500ByIdGreaterThanOrderByIdAsc(long id);
+
+    @Query("select a from Activity a where a.id < :beforeId order by a.id desc")
+    List<Activity> findNewestBefore(@Param("beforeId") long beforeId, Pageable pageable);
+
+    @Query("select coalesce(max(a.id), 0) from Activity a")
+    long findMaxId();
+
+    /**
+     * The {@code limit} most recent activities of each of the given employees, in one query.
+     */
+    @Query(value = """
+            select t.id, t.occurred_at, t.event, t.employee_id from (
+                select a.*, row_number() over (partition by a.employee_id order by a.id desc) as rn
+                from activities a where a.employee_id in (:employeeIds)
+            ) t where t.rn <= :limit
+            order by t.employee_id, t.rn""", nativeQuery = true)
+    List<Activity> findRecentByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds, @Param("limit") int limit);
 }
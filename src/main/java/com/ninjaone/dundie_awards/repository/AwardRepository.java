@@ -2,12 +2,26 @@ package com.ninjaone.dundie_awards.repository;
 
 import com.ninjaone.dundie_awards.model.Award;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AwardRepository extends JpaRepository<Award, Long> {
 
     List<Award> findByEmployeeId(Long employeeId);
+
+    /**
+     * The {@code limit} most recent awards of each of the given employees, in one query.
+     */
+    @Query(value = """
+            select t.id, t.type, t.awarded_at, t.employee_id from (
+                select a.*, row_number() over (partition by a.employee_id order by a.awarded_at desc, a.id desc) as rn
+                from awards a where a.employee_id in (:employeeIds)
+            ) t where t.rn <= :limit
+            order by t.employee_id, t.rn""", nativeQuery = true)
+    List<Award> findRecentByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds, @Param("limit") int limit);
 }
@@ -2,18 +2,61 @@ package com.ninjaone.dundie_awards.repository;
 
 import com.ninjaone.dundie_awards.model.Employee;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     List<Employee> findByOrganizationId(Long organizationId);
+
+    long countByOrganizationId(Long organizationId);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
     
     Page<Employee> findByOrganizationId(Long organizationId, Pageable pageable);
 
+    /**
+     * Keyset page, oldest first: employees with an id above {@code afterId}.
+     */
+    @Query("select e from Employee e join fetch e.organization where e.id > :afterId order by e.id")
+    List<Employee> findOldestAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select e from Employee e join fetch e.organization order by e.id")
+    List<Employee> findAllWithOrganization(Pageable pageable);
+
+    @Query("select e from Employee e join fetch e.organization o where o.id = :organizationId order by e.id")
+    List<Employee> findByOrganizationIdWithOrganization(@Param("organizationId") Long organizationId, Pageable pageable);
+
+    /**
+     * Keyset page, newest first: employees with an id below {@code beforeId}. Unlike an offset
+     * page, the cost does not grow with how far back the reader has paged.
+     */
+    @Query("select e from Employee e join fetch e.organization where e.id < :beforeId order by e.id desc")
+    List<Employee> findNewestBefore(@Param("beforeId") long beforeId, Pageable pageable);
+
+    /**
+     * Ids of the first {@code limit} employees, by id, of each of the given organizations, in one query.
+     */
+    @Query(value = """
+            select t.id from (
+                select e.id, row_number() over (partition by e.organization_id order by e.id) as rn
+                from employees e where e.organization_id in (:organizationIds)
+            ) t where t.rn <= :limit
+            order by t.id""", nativeQuery = true)
+    List<Long> findFirstIdsByOrganizationIds(@Param("organizationIds") Collection<Long> organizationIds,
+                                             @Param("limit") int limit);
+
+    @Query("select e from Employee e join fetch e.organization where e.id in :ids order by e.id")
+    List<Employee> findAllWithOrganizationByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -2,9 +2,17 @@ package com.ninjaone.dundie_awards.repository;
 
 import com.ninjaone.dundie_awards.model.Organization;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, Long> {
+
+    @Query("select o from Organization o where o.id > :afterId order by o.id")
+    List<Organization> findOldestAfter(@Param("afterId") long afterId, Pageable pageable);
 }
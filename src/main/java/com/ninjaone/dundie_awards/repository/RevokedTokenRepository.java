@@ -0,0 +1,31 @@
+package com.ninjaone.dundie_awards.repository;
+
+import com.ninjaone.dundie_awards.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    @Query("select t.tokenId from RevokedToken t where t.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") Instant now);
+
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(Instant since);
+
+    @Query("select coalesce(max(t.id), 0) from RevokedToken t")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
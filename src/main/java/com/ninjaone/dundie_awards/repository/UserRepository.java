@@ -2,13 +2,20 @@ package com.ninjaone.dundie_awards.repository;
 
 import com.ninjaone.dundie_awards.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("select distinct u from User u left join fetch u.roles where u.username in :usernames")
+    List<User> findAllWithRolesByUsernameIn(@Param("usernames") Collection<String> usernames);
 }
 
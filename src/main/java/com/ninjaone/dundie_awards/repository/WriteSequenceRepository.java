@@ -0,0 +1,25 @@
+package com.ninjaone.dundie_awards.repository;
+
+import com.ninjaone.dundie_awards.model.WriteSequence;
+import com.ninjaone.dundie_awards.model.WriteSequenceName;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface WriteSequenceRepository extends JpaRepository<WriteSequence, WriteSequenceName> {
+
+    @Query("select s.value from WriteSequence s where s.name = :name")
+    Optional<Long> findValueByName(@Param("name") WriteSequenceName name);
+
+    @Transactional
+    @Modifying
+    @Query("update WriteSequence s set s.value = s.value + 1 where s.name = :name")
+    int increment(@Param("name") WriteSequenceName name);
+}
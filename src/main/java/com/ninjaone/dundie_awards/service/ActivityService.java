@@ -1,8 +1,11 @@
 package com.ninjaone.dundie_awards.service;
 
 import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
 import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.model.WriteSequenceName;
 import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -13,15 +16,24 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Service
 @Transactional
+@Observed(name = "service.calls")
 public class ActivityService {
 
     private final ActivityRepository activityRepository;
     private final ActivityMapper activityMapper;
+    private final WriteSequenceService writeSequenceService;
 
     public ActivityService(ActivityRepository activityRepository,
-                           ActivityMapper activityMapper) {
+                           ActivityMapper activityMapper,
+                           WriteSequenceService writeSequenceService) {
         this.activityRepository = activityRepository;
         this.activityMapper = activityMapper;
+        this.writeSequenceService = writeSequenceService;
+    }
+
+    @Transactional(readOnly=true)
+    public long getActivitiesVersion() {
+        return writeSequenceService.current(WriteSequenceName.ACTIVITIES);
     }
 
     @Transactional(readOnly=true)
@@ -33,4 +45,15 @@ public class ActivityService {
         log.debug("Retrieved {} activities (total: {})", result.getNumberOfElements(), result.getTotalElements());
         return result;
     }
+
+    /**
+     * Page of activities whose DTOs are mapped as the response is serialized. Only the
+     * employee id is read from the lazy association, which does not initialize the proxy.
+     */
+    @Transactional(readOnly=true)
+    public PageResponse<ActivityDto> getActivityPage(@NonNull Pageable pageable) {
+        log.debug("Getting activity page: page={}, size={}, sort={}", 
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return PageResponse.from(activityRepository.findAll(pageable), activityMapper::toDto);
+    }
 }
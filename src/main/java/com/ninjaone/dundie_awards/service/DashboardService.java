@@ -0,0 +1,100 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.CursorSlice;
+import com.ninjaone.dundie_awards.dto.Dashboard;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Newest-first slices for the server-rendered dashboard. The employee and activity queries
+ * are independent, so they run concurrently on virtual threads, each in its own read-only
+ * repository transaction; entities are mapped to DTOs before the threads hand them back.
+ */
+@Slf4j
+@Service
+@Observed(name = "service.calls")
+public class DashboardService {
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private final EmployeeRepository employeeRepository;
+    private final ActivityRepository activityRepository;
+    private final EmployeeMapper employeeMapper;
+    private final ActivityMapper activityMapper;
+    // carries the request's observation, and so its trace, into the query threads
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(), () -> CONTEXT_SNAPSHOTS.captureAll());
+
+    public DashboardService(EmployeeRepository employeeRepository,
+                            ActivityRepository activityRepository,
+                            EmployeeMapper employeeMapper,
+                            ActivityMapper activityMapper) {
+        this.employeeRepository = employeeRepository;
+        this.activityRepository = activityRepository;
+        this.employeeMapper = employeeMapper;
+        this.activityMapper = activityMapper;
+    }
+
+    /**
+     * @param employeesBefore cursor from a previous employee slice, or {@code null} for the newest
+     * @param activitiesBefore cursor from a previous activity slice, or {@code null} for the newest
+     * @param size maximum number of rows in each slice
+     */
+    public Dashboard getDashboard(Long employeesBefore, Long activitiesBefore, int size) {
+        log.debug("Loading dashboard: employeesBefore={}, activitiesBefore={}, size={}",
+                employeesBefore, activitiesBefore, size);
+        // one extra row tells whether there is a next slice without a count query
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        CompletableFuture<CursorSlice<EmployeeDto>> employees = CompletableFuture.supplyAsync(() -> slice(
+                employeeRepository.findNewestBefore(cursorOrNewest(employeesBefore), limit),
+                size, employeeMapper::toDto, EmployeeDto::id), executor);
+        CompletableFuture<CursorSlice<ActivityDto>> activities = CompletableFuture.supplyAsync(() -> slice(
+                activityRepository.findNewestBefore(cursorOrNewest(activitiesBefore), limit),
+                size, activityMapper::toDto, ActivityDto::id), executor);
+        try {
+            return new Dashboard(employees.join(), activities.join());
+        } catch (CompletionException e) {
+            employees.cancel(true);
+            activities.cancel(true);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static long cursorOrNewest(Long before) {
+        return before == null ? Long.MAX_VALUE : before;
+    }
+
+    private static <E, D> CursorSlice<D> slice(List<E> rows, int size, Function<E, D> mapper, ToLongFunction<D> id) {
+        boolean hasMore = rows.size() > size;
+        List<D> items = rows.stream().limit(size).map(mapper).toList();
+        Long nextCursor = hasMore ? id.applyAsLong(items.get(items.size() - 1)) : null;
+        return new CursorSlice<>(items, nextCursor);
+    }
+}
@@ -3,10 +3,12 @@ package com.ninjaone.dundie_awards.service;
 import com.ninjaone.dundie_awards.dto.AwardRequest;
 import com.ninjaone.dundie_awards.dto.EmployeeDto;
 import com.ninjaone.dundie_awards.dto.EmployeeRequest;
+import com.ninjaone.dundie_awards.dto.PageResponse;
 import com.ninjaone.dundie_awards.dto.UpdateEmployeeRequest;
 import com.ninjaone.dundie_awards.exception.BusinessValidationException;
 import com.ninjaone.dundie_awards.exception.EmployeeNotFoundException;
 import com.ninjaone.dundie_awards.exception.OrganizationNotFoundException;
+import com.ninjaone.dundie_awards.exception.PreconditionFailedException;
 import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
 import com.ninjaone.dundie_awards.model.Activity;
 import com.ninjaone.dundie_awards.model.ActivityType;
@@ -14,10 +16,12 @@ import com.ninjaone.dundie_awards.model.Award;
 import com.ninjaone.dundie_awards.model.AwardType;
 import com.ninjaone.dundie_awards.model.Employee;
 import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.model.WriteSequenceName;
 import com.ninjaone.dundie_awards.repository.ActivityRepository;
 import com.ninjaone.dundie_awards.repository.EmployeeRepository;
 import com.ninjaone.dundie_awards.repository.OrganizationRepository;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +36,7 @@ import java.util.List;
 @Slf4j
 @Service
 @Transactional
+@Observed(name = "service.calls")
 @SuppressWarnings("null")
 public class EmployeeService {
 
@@ -39,29 +44,73 @@ public class EmployeeService {
     private final OrganizationRepository organizationRepository;
     private final EmployeeMapper employeeMapper;
     private final ActivityRepository activityRepository;
+    private final WriteSequenceService writeSequenceService;
 
     public EmployeeService(EmployeeRepository employeeRepository,
                            OrganizationRepository organizationRepository,
                            EmployeeMapper employeeMapper,
-                           ActivityRepository activityRepository) {
+                           ActivityRepository activityRepository,
+                           WriteSequenceService writeSequenceService) {
         this.employeeRepository = employeeRepository;
         this.organizationRepository = organizationRepository;
         this.employeeMapper = employeeMapper;
         this.activityRepository = activityRepository;
+        this.writeSequenceService = writeSequenceService;
+    }
+
+    /**
+     * Current version of the employee collection; changes whenever any employee is written.
+     */
+    @Transactional(readOnly=true)
+    public long getEmployeesVersion() {
+        return writeSequenceService.current(WriteSequenceName.EMPLOYEES);
+    }
+
+    /**
+     * Reads only the row version, so conditional GETs can be answered without loading the employee.
+     */
+    @Transactional(readOnly=true)
+    public long getEmployeeVersion(@NonNull Long id) {
+        return employeeRepository.findVersionById(id)
+                .orElseThrow(() -> {
+                    log.warn("Employee not found with id: {}", id);
+                    return new EmployeeNotFoundException(id);
+                });
     }
 
     @Transactional(readOnly=true)
     public Page<EmployeeDto> getAllEmployees(@NonNull Pageable pageable) {
+        return getAllEmployees(pageable, false);
+    }
+
+    @Transactional(readOnly=true)
+    public Page<EmployeeDto> getAllEmployees(@NonNull Pageable pageable, boolean includeAwardBreakdown) {
         log.debug("Getting all employees with pagination: page={}, size={}, sort={}", 
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
         Page<EmployeeDto> result = employeeRepository.findAll(pageable)
-                .map(employeeMapper::toDto);
+                .map(e -> toDto(e, includeAwardBreakdown));
         log.debug("Retrieved {} employees (total: {})", result.getNumberOfElements(), result.getTotalElements());
         return result;
     }
 
+    /**
+     * Same page as {@link #getAllEmployees(Pageable, boolean)}, but each DTO is mapped as the
+     * response is serialized. The organization is fetched eagerly, so mapping needs no session.
+     */
+    @Transactional(readOnly=true)
+    public PageResponse<EmployeeDto> getEmployeePage(@NonNull Pageable pageable, boolean includeAwardBreakdown) {
+        log.debug("Getting employee page: page={}, size={}, sort={}", 
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return PageResponse.from(employeeRepository.findAll(pageable), e -> toDto(e, includeAwardBreakdown));
+    }
+
     @Transactional(readOnly=true)
     public EmployeeDto getEmployee(@NonNull Long id) {
+        return getEmployee(id, false);
+    }
+
+    @Transactional(readOnly=true)
+    public EmployeeDto getEmployee(@NonNull Long id, boolean includeAwardBreakdown) {
         log.debug("Getting employee with id: {}", id);
         Employee e = employeeRepository.findById(id)
                 .orElseThrow(() -> {
@@ -69,7 +118,7 @@ public class EmployeeService {
                     return new EmployeeNotFoundException(id);
                 });
         log.debug("Found employee: {} {} (id: {})", e.getFirstName(), e.getLastName(), e.getId());
-        return employeeMapper.toDto(e);
+        return toDto(e, includeAwardBreakdown);
     }
 
     public EmployeeDto createEmployee(EmployeeRequest req) {
@@ -87,6 +136,7 @@ public class EmployeeService {
             e.setOrganization(org);
 
             @NonNull Employee savedEmployee = employeeRepository.save(e);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES);
             EmployeeDto saved = employeeMapper.toDto(savedEmployee);
             log.info("Successfully created employee: {} {} (id: {})", 
                     saved.firstName(), saved.lastName(), saved.id());
@@ -98,6 +148,14 @@ public class EmployeeService {
     }
 
     public EmployeeDto updateEmployee(@NonNull Long id, EmployeeRequest req) {
+        return updateEmployee(id, req, null);
+    }
+
+    /**
+     * Full update that only applies when the stored version equals {@code expectedVersion};
+     * a {@code null} expected version updates unconditionally.
+     */
+    public EmployeeDto updateEmployee(@NonNull Long id, EmployeeRequest req, Long expectedVersion) {
         log.info("Updating employee with id: {} to {} {}", id, req.firstName(), req.lastName());
         try {
             Employee e = employeeRepository.findById(id)
@@ -105,6 +163,7 @@ public class EmployeeService {
                         log.warn("Employee not found with id: {}", id);
                         return new EmployeeNotFoundException(id);
                     });
+            checkVersion(e, expectedVersion);
 
             @NonNull Long organizationId = req.organizationId();
             @NonNull Organization org = organizationRepository.findById(organizationId)
@@ -117,6 +176,9 @@ public class EmployeeService {
             e.setOrganization(org);
 
             @NonNull Employee savedEmployee = employeeRepository.save(e);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES);
+            // flush so the returned version (and ETag) reflects this update
+            employeeRepository.flush();
             EmployeeDto updated = employeeMapper.toDto(savedEmployee);
             log.info("Successfully updated employee (id: {})", updated.id());
             return updated;
@@ -127,6 +189,10 @@ public class EmployeeService {
     }
 
     public EmployeeDto patchEmployee(@NonNull Long id, UpdateEmployeeRequest req) {
+        return patchEmployee(id, req, null);
+    }
+
+    public EmployeeDto patchEmployee(@NonNull Long id, UpdateEmployeeRequest req, Long expectedVersion) {
         log.info("Partially updating employee with id: {}", id);
         try {
             Employee e = employeeRepository.findById(id)
@@ -134,6 +200,7 @@ public class EmployeeService {
                         log.warn("Employee not found with id: {}", id);
                         return new EmployeeNotFoundException(id);
                     });
+            checkVersion(e, expectedVersion);
 
             // Only fetch and set organization if organizationId is provided
             if (req.organizationId() != null) {
@@ -150,6 +217,8 @@ public class EmployeeService {
             employeeMapper.updateEmployeeFromPartialRequest(req, e);
 
             @NonNull Employee savedEmployee = employeeRepository.save(e);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES);
+            employeeRepository.flush();
             EmployeeDto updated = employeeMapper.toDto(savedEmployee);
             log.info("Successfully patched employee (id: {})", updated.id());
             return updated;
@@ -189,6 +258,8 @@ public class EmployeeService {
         }
 
         List<Employee> saved = employeeRepository.saveAll(employees);
+        writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES);
+        employeeRepository.flush();
         return employeeMapper.toDtoList(saved);
     }
 
@@ -201,6 +272,7 @@ public class EmployeeService {
                         return new EmployeeNotFoundException(id);
                     });
             employeeRepository.delete(e);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES);
             log.info("Successfully deleted employee (id: {})", id);
         } catch (Exception e) {
             log.error("Failed to delete employee with id: {}", id, e);
@@ -218,11 +290,7 @@ public class EmployeeService {
                         return new EmployeeNotFoundException(id);
                     });
 
-            Integer current = e.getDundieAwards();
-            if (current == null) {
-                current = 0;
-            }
-            e.setDundieAwards(current + 1);
+            e.recordAward(request.awardType());
 
             @NonNull Employee saved = employeeRepository.save(e);
 
@@ -232,6 +300,8 @@ public class EmployeeService {
             activity.setOccurredAt(Instant.now());
             activity.setEvent(ActivityType.AWARD_GRANTED);
             activityRepository.save(activity);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES, WriteSequenceName.ACTIVITIES);
+            employeeRepository.flush();
 
             log.info("Successfully awarded employee (id: {}), new award count: {}", 
                     saved.getId(), saved.getDundieAwards());
@@ -244,7 +314,16 @@ public class EmployeeService {
 
     @Transactional
     public EmployeeDto removeAward(@NonNull Long id) {
-        log.info("Removing award from employee with id: {}", id);
+        return removeAward(id, null);
+    }
+
+    /**
+     * Removes one award from the employee. When {@code awardType} is {@code null} the award is
+     * taken from the first type that has any; legacy totals without a breakdown only decrement the total.
+     */
+    @Transactional
+    public EmployeeDto removeAward(@NonNull Long id, AwardType awardType) {
+        log.info("Removing award from employee with id: {} (award type: {})", id, awardType);
         try {
             Employee e = employeeRepository.findById(id)
                     .orElseThrow(() -> {
@@ -258,7 +337,12 @@ public class EmployeeService {
                         id, current);
                 throw new BusinessValidationException("Employee has no awards to remove");
             }
-            e.setDundieAwards(current - 1);
+            if (awardType != null && e.getAwardCounts().get(awardType) <= 0) {
+                log.warn("Attempted to remove {} award from employee (id: {}) with none of that type", 
+                        awardType, id);
+                throw new BusinessValidationException("Employee has no " + awardType + " awards to remove");
+            }
+            e.revokeAward(awardType != null ? awardType : e.getAwardCounts().firstNonZero().orElse(null));
 
             @NonNull Employee saved = employeeRepository.save(e);
 
@@ -268,6 +352,8 @@ public class EmployeeService {
             activity.setOccurredAt(Instant.now());
             activity.setEvent(ActivityType.AWARD_REMOVED);
             activityRepository.save(activity);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES, WriteSequenceName.ACTIVITIES);
+            employeeRepository.flush();
 
             log.info("Successfully removed award from employee (id: {}), new award count: {}", 
                     saved.getId(), saved.getDundieAwards());
@@ -277,4 +363,19 @@ public class EmployeeService {
             throw e;
         }
     }
+
+    private void checkVersion(Employee e, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(e.getVersion())) {
+            log.warn("Version mismatch for employee (id: {}): expected {}, current {}",
+                    e.getId(), expectedVersion, e.getVersion());
+            throw new PreconditionFailedException(
+                    "Employee " + e.getId() + " has been modified (current version " + e.getVersion() + ")");
+        }
+    }
+
+    private EmployeeDto toDto(Employee e, boolean includeAwardBreakdown) {
+        return includeAwardBreakdown
+                ? employeeMapper.toDtoWithAwardBreakdown(e)
+                : employeeMapper.toDto(e);
+    }
 }
@@ -0,0 +1,121 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.AwardDto;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.mapper.AwardMapper;
+import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
+import com.ninjaone.dundie_awards.mapper.OrganizationMapper;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.AwardRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads behind the GraphQL API. Nested fields are loaded for a whole batch of parents
+ * at once and grouped by parent id, so the number of queries depends on the shape of a
+ * GraphQL query and not on how many rows it returns.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("null")
+public class GraphReadService {
+
+    private final OrganizationRepository organizationRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AwardRepository awardRepository;
+    private final ActivityRepository activityRepository;
+    private final OrganizationMapper organizationMapper;
+    private final EmployeeMapper employeeMapper;
+    private final AwardMapper awardMapper;
+    private final ActivityMapper activityMapper;
+
+    public GraphReadService(OrganizationRepository organizationRepository,
+                            EmployeeRepository employeeRepository,
+                            AwardRepository awardRepository,
+                            ActivityRepository activityRepository,
+                            OrganizationMapper organizationMapper,
+                            EmployeeMapper employeeMapper,
+                            AwardMapper awardMapper,
+                            ActivityMapper activityMapper) {
+        this.organizationRepository = organizationRepository;
+        this.employeeRepository = employeeRepository;
+        this.awardRepository = awardRepository;
+        this.activityRepository = activityRepository;
+        this.organizationMapper = organizationMapper;
+        this.employeeMapper = employeeMapper;
+        this.awardMapper = awardMapper;
+        this.activityMapper = activityMapper;
+    }
+
+    public Optional<OrganizationDto> findOrganization(@NonNull Long id) {
+        return organizationRepository.findById(id).map(organizationMapper::toDto);
+    }
+
+    public List<OrganizationDto> findOrganizations(int page, int size) {
+        return organizationMapper.toDtoList(organizationRepository
+                .findAll(PageRequest.of(page, size, Sort.by("id")))
+                .getContent());
+    }
+
+    public Optional<EmployeeDto> findEmployee(@NonNull Long id) {
+        return employeeRepository.findById(id).map(employeeMapper::toDto);
+    }
+
+    /**
+     * One page of employees, optionally restricted to an organization. The organization is
+     * join-fetched so a page costs a single query.
+     */
+    public List<EmployeeDto> findEmployees(Long organizationId, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return employeeMapper.toDtoList(organizationId == null
+                ? employeeRepository.findAllWithOrganization(pageable)
+                : employeeRepository.findByOrganizationIdWithOrganization(organizationId, pageable));
+    }
+
+    /**
+     * The first {@code limit} employees of each organization: their ids are picked per
+     * organization first, so a large organization is never loaded whole.
+     */
+    public Map<Long, List<EmployeeDto>> findEmployeesByOrganizationIds(Collection<Long> organizationIds, int limit) {
+        log.debug("Loading up to {} employees of {} organizations", limit, organizationIds.size());
+        List<Long> ids = employeeRepository.findFirstIdsByOrganizationIds(organizationIds, limit);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return groupBy(employeeMapper.toDtoList(employeeRepository.findAllWithOrganizationByIdIn(ids)),
+                EmployeeDto::organizationId);
+    }
+
+    public Map<Long, List<AwardDto>> findRecentAwardsByEmployeeIds(Collection<Long> employeeIds, int limit) {
+        log.debug("Loading up to {} recent awards of {} employees", limit, employeeIds.size());
+        return groupBy(awardMapper.toDtoList(awardRepository.findRecentByEmployeeIds(employeeIds, limit)),
+                AwardDto::employeeId);
+    }
+
+    public Map<Long, List<ActivityDto>> findRecentActivitiesByEmployeeIds(Collection<Long> employeeIds, int limit) {
+        log.debug("Loading up to {} recent activities of {} employees", limit, employeeIds.size());
+        return groupBy(activityMapper.toDtoList(activityRepository.findRecentByEmployeeIds(employeeIds, limit)),
+                ActivityDto::employeeId);
+    }
+
+    private static <T> Map<Long, List<T>> groupBy(List<T> items, Function<T, Long> key) {
+        return items.stream().collect(Collectors.groupingBy(key));
+    }
+}
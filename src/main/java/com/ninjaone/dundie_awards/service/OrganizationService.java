@@ -2,6 +2,7 @@ package com.ninjaone.dundie_awards.service;
 
 import com.ninjaone.dundie_awards.dto.EmployeeDto;
 import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
 import com.ninjaone.dundie_awards.exception.BusinessValidationException;
 import com.ninjaone.dundie_awards.exception.OrganizationNotFoundException;
 import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
@@ -9,6 +10,7 @@ import com.ninjaone.dundie_awards.mapper.OrganizationMapper;
 import com.ninjaone.dundie_awards.model.Award;
 import com.ninjaone.dundie_awards.model.AwardType;
 import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.WriteSequenceName;
 import com.ninjaone.dundie_awards.repository.EmployeeRepository;
 import com.ninjaone.dundie_awards.repository.OrganizationRepository;
 import org.springframework.data.domain.Page;
@@ -16,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,21 +29,30 @@ import java.util.Objects;
 @Slf4j
 @Service
 @Transactional
+@Observed(name = "service.calls")
 public class OrganizationService {
 
     private final EmployeeRepository employeeRepository;
     private final OrganizationRepository organizationRepository;
     private final EmployeeMapper employeeMapper;
     private final OrganizationMapper organizationMapper;
+    private final WriteSequenceService writeSequenceService;
 
     public OrganizationService(EmployeeRepository employeeRepository,
                            OrganizationRepository organizationRepository,
                             EmployeeMapper employeeMapper,
-                            OrganizationMapper organizationMapper) {
+                            OrganizationMapper organizationMapper,
+                            WriteSequenceService writeSequenceService) {
         this.employeeRepository = employeeRepository;
         this.organizationRepository = organizationRepository;
         this.employeeMapper = employeeMapper;
         this.organizationMapper = organizationMapper;
+        this.writeSequenceService = writeSequenceService;
+    }
+
+    @Transactional(readOnly=true)
+    public long getOrganizationsVersion() {
+        return writeSequenceService.current(WriteSequenceName.ORGANIZATIONS);
     }
 
     @Transactional(readOnly=true)
@@ -53,6 +65,16 @@ public class OrganizationService {
         return result;
     }
 
+    /**
+     * Page of organizations whose DTOs are mapped as the response is serialized.
+     */
+    @Transactional(readOnly=true)
+    public PageResponse<OrganizationDto> getOrganizationPage(@NonNull Pageable pageable) {
+        log.debug("Getting organization page: page={}, size={}, sort={}", 
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return PageResponse.from(organizationRepository.findAll(pageable), organizationMapper::toDto);
+    }
+
     @Transactional
     public List<EmployeeDto> awardAllEmployeesInOrganization(Long organizationId, AwardType awardType) {
         log.info("Awarding all employees in organization {} with award type: {}", organizationId, awardType);
@@ -84,6 +106,8 @@ public class OrganizationService {
             }
 
             List<Employee> saved = employeeRepository.saveAll(employees);
+            writeSequenceService.markChanged(WriteSequenceName.EMPLOYEES);
+            employeeRepository.flush();
             log.info("Successfully awarded {} employees in organization {}", saved.size(), organizationId);
             return employeeMapper.toDtoList(saved);
         } catch (Exception e) {
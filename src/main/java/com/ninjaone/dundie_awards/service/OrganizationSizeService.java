@@ -0,0 +1,34 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Employee counts per organization for pricing bulk writes. Counts are cached for
+ * {@code count-cache-ttl}, so an estimate may lag recent hires and departures by that much.
+ */
+@Service
+public class OrganizationSizeService {
+
+    private final LoadingCache<Long, Long> employeeCounts;
+
+    public OrganizationSizeService(EmployeeRepository employeeRepository,
+                                   RateLimitProperties rateLimitProperties,
+                                   MeterRegistry meterRegistry) {
+        this.employeeCounts = Caffeine.newBuilder()
+                .maximumSize(rateLimitProperties.getCost().getCountCacheSize())
+                .expireAfterWrite(rateLimitProperties.getCost().getCountCacheTtl())
+                .recordStats()
+                .build(employeeRepository::countByOrganizationId);
+        CaffeineCacheMetrics.monitor(meterRegistry, employeeCounts, "organizationEmployeeCounts");
+    }
+
+    public long employeeCount(Long organizationId) {
+        return employeeCounts.get(organizationId);
+    }
+}
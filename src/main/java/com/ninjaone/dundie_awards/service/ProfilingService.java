@@ -0,0 +1,125 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.config.ProfilingProperties;
+import com.ninjaone.dundie_awards.dto.RecordingStatus;
+import com.ninjaone.dundie_awards.dto.SlowRequest;
+import com.ninjaone.dundie_awards.exception.RecordingStateException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Runs one bounded Java Flight Recorder recording at a time, and keeps the breakdowns of the
+ * most recent slow requests. A stopped recording can still be dumped until the next one starts.
+ */
+@Slf4j
+@Service
+public class ProfilingService {
+
+    private final ProfilingProperties properties;
+    private final Deque<SlowRequest> slowRequests = new ArrayDeque<>();
+    private Recording recording;
+
+    public ProfilingService(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized RecordingStatus startRecording() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("A recording is already running");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        ProfilingProperties.Recording config = properties.getRecording();
+        try {
+            recording = new Recording(Configuration.getConfiguration(config.getSettings()));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + config.getSettings(), e);
+        }
+        recording.setName("dundie-awards");
+        recording.setToDisk(true);
+        recording.setMaxAge(config.getMaxAge());
+        recording.setMaxSize(config.getMaxSize().toBytes());
+        recording.setDuration(config.getMaxDuration());
+        recording.start();
+        log.info("Started JFR recording {} ({} settings, max age {}, max size {}, max duration {})",
+                recording.getId(), config.getSettings(), config.getMaxAge(), config.getMaxSize(),
+                config.getMaxDuration());
+        return status(recording);
+    }
+
+    public synchronized RecordingStatus stopRecording() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Stopped JFR recording {}", recording.getId());
+        return status(recording);
+    }
+
+    public synchronized RecordingStatus getRecording() {
+        if (recording == null) {
+            throw new RecordingStateException("No recording has been started");
+        }
+        return status(recording);
+    }
+
+    /** Writes what the current or last recording holds, as a {@code .jfr} file. */
+    public void dumpRecording(OutputStream out) throws IOException {
+        Path file = Files.createTempFile("dundie-awards-", ".jfr");
+        try {
+            synchronized (this) {
+                if (recording == null || recording.getState() == RecordingState.NEW) {
+                    throw new RecordingStateException("No recording has been started");
+                }
+                recording.dump(file);
+            }
+            Files.copy(file, out);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR dump {}", file, e);
+            }
+        }
+    }
+
+    public void recordSlowRequest(SlowRequest slowRequest) {
+        synchronized (slowRequests) {
+            slowRequests.addFirst(slowRequest);
+            while (slowRequests.size() > properties.getSlowRequestsRetained()) {
+                slowRequests.removeLast();
+            }
+        }
+    }
+
+    /** Most recent first. */
+    public List<SlowRequest> getSlowRequests() {
+        synchronized (slowRequests) {
+            return List.copyOf(slowRequests);
+        }
+    }
+
+    private static RecordingStatus status(Recording recording) {
+        return new RecordingStatus(
+                recording.getId(),
+                recording.getState().name(),
+                recording.getStartTime(),
+                recording.getStopTime(),
+                recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : 0,
+                recording.getMaxSize(),
+                recording.getSize());
+    }
+}
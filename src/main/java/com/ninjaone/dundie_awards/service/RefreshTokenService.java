@@ -0,0 +1,151 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.config.JwtProperties;
+import com.ninjaone.dundie_awards.config.JwtTokenProvider;
+import com.ninjaone.dundie_awards.dto.JwtAuthenticationResponse;
+import com.ninjaone.dundie_awards.exception.InvalidRefreshTokenException;
+import com.ninjaone.dundie_awards.model.RefreshToken;
+import com.ninjaone.dundie_awards.model.User;
+import com.ninjaone.dundie_awards.repository.RefreshTokenRepository;
+import com.ninjaone.dundie_awards.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues access tokens together with rotating refresh tokens. A refresh needs one token lookup
+ * and one user lookup but no password check, so clients with a refresh token never hit BCrypt.
+ * Presenting a refresh token that was already used means it leaked, so its whole family is
+ * revoked and the legitimate holder has to log in again.
+ */
+@Slf4j
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final JwtProperties jwtProperties;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtTokenProvider tokenProvider,
+                               JwtProperties jwtProperties,
+                               TokenRevocationService tokenRevocationService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.jwtProperties = jwtProperties;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * Tokens for a freshly authenticated user; starts a new refresh token family.
+     */
+    public JwtAuthenticationResponse issueTokens(Authentication authentication) {
+        Instant now = Instant.now();
+        String username = authentication.getName();
+        refreshTokenRepository.deleteExpiredForUser(username, now);
+        String refreshToken = issueRefreshToken(username, UUID.randomUUID().toString(), now);
+        return response(tokenProvider.generateToken(authentication), username, refreshToken);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token. Revocations
+     * made while rejecting the token must survive the exception, hence no rollback for it.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public JwtAuthenticationResponse refresh(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        if (token.getRevokedAt() != null) {
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("Refresh token reuse for user {} - revoked {} tokens of family {}",
+                    token.getUsername(), revoked, token.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        User user = userRepository.findByUsername(token.getUsername())
+                .filter(User::getEnabled)
+                .orElse(null);
+        if (user == null) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("Refresh for missing or disabled user {} - family {} revoked", token.getUsername(), token.getFamilyId());
+            throw new InvalidRefreshTokenException("User is no longer active");
+        }
+
+        String accessToken = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, user.getRoles()));
+        String refreshToken = issueRefreshToken(user.getUsername(), token.getFamilyId(), now);
+        log.debug("Rotated refresh token for user {} (family {})", user.getUsername(), token.getFamilyId());
+        return response(accessToken, user.getUsername(), refreshToken);
+    }
+
+    /**
+     * Revokes the access token and, when given, the refresh token's whole family. Refresh tokens
+     * of other users are ignored rather than revoked.
+     */
+    public void logout(String accessToken, String rawRefreshToken) {
+        Instant now = Instant.now();
+        JwtTokenProvider.VerifiedToken token = tokenProvider.verify(accessToken);
+        tokenRevocationService.revoke(token.tokenId(), token.username(), token.expiresAt());
+        if (rawRefreshToken != null && !rawRefreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                    .filter(refreshToken -> refreshToken.getUsername().equals(token.username()))
+                    .ifPresent(refreshToken -> refreshTokenRepository.revokeFamily(refreshToken.getFamilyId(), now));
+        }
+        log.info("User {} logged out", token.username());
+    }
+
+    private String issueRefreshToken(String username, String familyId, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .username(username)
+                .issuedAt(now)
+                .expiresAt(now.plus(jwtProperties.getRefreshExpiration()))
+                .build());
+        return rawToken;
+    }
+
+    private JwtAuthenticationResponse response(String accessToken, String username, String refreshToken) {
+        long expiresIn = Duration.ofMillis(jwtProperties.getExpiration()).toSeconds();
+        return new JwtAuthenticationResponse(accessToken, username, refreshToken, expiresIn);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
+import com.ninjaone.dundie_awards.mapper.OrganizationMapper;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads whole tables in keyset chunks of {@value #CHUNK_SIZE} rows, ordered by id, and hands
+ * each row to the caller once its chunk is mapped. Every chunk is read in its own short
+ * read-only transaction and the caller runs outside it, so a slow consumer holds no JDBC
+ * connection while it writes; only the reads bulkhead bounds how many exports run at once.
+ */
+@Slf4j
+@Service
+public class StreamingReadService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EmployeeRepository employeeRepository;
+    private final OrganizationRepository organizationRepository;
+    private final ActivityRepository activityRepository;
+    private final EmployeeMapper employeeMapper;
+    private final OrganizationMapper organizationMapper;
+    private final ActivityMapper activityMapper;
+    private final TransactionTemplate readOnly;
+
+    public StreamingReadService(EmployeeRepository employeeRepository,
+                                OrganizationRepository organizationRepository,
+                                ActivityRepository activityRepository,
+                                EmployeeMapper employeeMapper,
+                                OrganizationMapper organizationMapper,
+                                ActivityMapper activityMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.organizationRepository = organizationRepository;
+        this.activityRepository = activityRepository;
+        this.employeeMapper = employeeMapper;
+        this.organizationMapper = organizationMapper;
+        this.activityMapper = activityMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public long streamEmployees(Consumer<EmployeeDto> consumer) {
+        log.debug("Streaming all employees");
+        return drain(afterId -> employeeRepository.findOldestAfter(afterId, oneChunk()),
+                employeeMapper::toDto, EmployeeDto::id, consumer);
+    }
+
+    public long streamOrganizations(Consumer<OrganizationDto> consumer) {
+        log.debug("Streaming all organizations");
+        return drain(afterId -> organizationRepository.findOldestAfter(afterId, oneChunk()),
+                organizationMapper::toDto, OrganizationDto::id, consumer);
+    }
+
+    public long streamActivities(Consumer<ActivityDto> consumer) {
+        log.debug("Streaming all activities");
+        return drain(afterId -> activityRepository.findOldestAfter(afterId, oneChunk()),
+                activityMapper::toDto, ActivityDto::id, consumer);
+    }
+
+    private static Pageable oneChunk() {
+        return PageRequest.ofSize(CHUNK_SIZE);
+    }
+
+    private <E, D> long drain(LongFunction<List<E>> chunkAfter, Function<E, D> mapper, ToLongFunction<D> id,
+                              Consumer<D> consumer) {
+        long count = 0;
+        long afterId = 0;
+        List<D> chunk;
+        do {
+            long from = afterId;
+            // mapped inside the transaction, so lazy associations are never touched after it ends
+            chunk = readOnly.execute(status -> chunkAfter.apply(from).stream().map(mapper).toList());
+            for (D dto : chunk) {
+                consumer.accept(dto);
+                count++;
+            }
+            if (!chunk.isEmpty()) {
+                afterId = id.applyAsLong(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        log.debug("Streamed {} rows", count);
+        return count;
+    }
+}
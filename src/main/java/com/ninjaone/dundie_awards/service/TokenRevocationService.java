@@ -0,0 +1,193 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ninjaone.dundie_awards.config.TokenRevocationList;
+import com.ninjaone.dundie_awards.config.TokenRevocationProperties;
+import com.ninjaone.dundie_awards.model.RevokedToken;
+import com.ninjaone.dundie_awards.repository.RevokedTokenRepository;
+import com.ninjaone.dundie_awards.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked access tokens, checked on every request. The check is an in-memory Bloom filter of
+ * revoked {@code jti}s, so tokens that were never revoked cost no I/O; only filter positives
+ * are confirmed against the {@code revoked_tokens} table. Every node polls the table for
+ * recent revocations and rebuilds its filter periodically, dropping expired entries.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService implements TokenRevocationList {
+
+    private static final int MIN_CAPACITY = 1024;
+    /** Rows are stamped before they commit; re-reading this window catches slow commits and clock skew. */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationProperties properties;
+    private final Cache<String, Boolean> confirmed = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final Counter revokedLookups;
+    private final Counter falsePositiveLookups;
+
+    private volatile BloomFilter filter;
+    private int capacity;
+    private int entries;
+    private long highestId;
+    private Instant syncedFrom;
+    private ScheduledExecutorService scheduler;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  TokenRevocationProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = properties;
+        this.revokedLookups = Counter.builder("token.revocation.lookups")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositiveLookups = Counter.builder("token.revocation.lookups")
+                .tag("result", "false-positive")
+                .register(meterRegistry);
+        Gauge.builder("token.revocation.entries", this, service -> service.entries).register(meterRegistry);
+        this.filter = new BloomFilter(MIN_CAPACITY, properties.getFalsePositiveRate());
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        // built before the first request so tokens revoked before a restart stay revoked
+        rebuild();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("token-revocation").factory());
+        long syncMillis = properties.getSyncInterval().toMillis();
+        long rebuildMillis = properties.getRebuildInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, rebuildMillis, rebuildMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        if (confirmed.getIfPresent(tokenId) != null) {
+            return true;
+        }
+        // a later revocation can turn a false positive into a real one, so only positives are cached
+        if (revokedTokenRepository.existsByTokenId(tokenId)) {
+            confirmed.put(tokenId, Boolean.TRUE);
+            revokedLookups.increment();
+            return true;
+        }
+        falsePositiveLookups.increment();
+        return false;
+    }
+
+    /**
+     * Revokes an access token until its expiry. Takes effect on this node at once and on the
+     * others within the sync interval. Runs outside the caller's transaction: the insert commits
+     * on its own, and losing a race with a concurrent revocation of the same token cannot mark the
+     * caller's transaction rollback-only.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void revoke(String tokenId, String username, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            return;
+        }
+        if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+            try {
+                revokedTokenRepository.save(RevokedToken.builder()
+                        .tokenId(tokenId)
+                        .username(username)
+                        .expiresAt(expiresAt)
+                        .revokedAt(now)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // token_id is unique: a concurrent logout with the same token inserted it first
+                log.debug("Access token {} was revoked concurrently", tokenId);
+            }
+        }
+        filter.add(tokenId);
+        log.info("Revoked access token {} of user {}", tokenId, username);
+    }
+
+    /**
+     * Adds revocations recorded by any node since the last sync.
+     */
+    synchronized void sync() {
+        Instant now = Instant.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtGreaterThanEqual(syncedFrom.minus(SYNC_OVERLAP));
+        BloomFilter current = filter;
+        for (RevokedToken token : recent) {
+            current.add(token.getTokenId());
+            if (token.getId() > highestId) {
+                highestId = token.getId();
+                entries++;
+            }
+        }
+        syncedFrom = now;
+        if (entries > capacity) {
+            // past its planned size the false-positive rate climbs quickly
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the filter with one holding only unexpired revocations, sized for their count.
+     */
+    synchronized void rebuild() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        long loadedUpTo = revokedTokenRepository.findMaxId();
+        List<String> active = revokedTokenRepository.findActiveTokenIds(now);
+        int rebuiltCapacity = Math.max(MIN_CAPACITY, active.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(rebuiltCapacity, properties.getFalsePositiveRate());
+        active.forEach(rebuilt::add);
+        filter = rebuilt;
+        capacity = rebuiltCapacity;
+        entries = active.size();
+        highestId = loadedUpTo;
+        syncedFrom = now;
+        log.debug("Rebuilt token revocation filter with {} entries ({} expired purged)", active.size(), purged);
+        // revocations committed while the filter was loading
+        sync();
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Token revocation sync failed, retrying in {}", properties.getSyncInterval(), e);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Token revocation filter rebuild failed, retrying in {}", properties.getRebuildInterval(), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ninjaone.dundie_awards.service;
+
+/**
+ * Published when a user row, or one of its roles, is inserted, updated or deleted.
+ */
+public record UserChangedEvent(String username) {
+}
@@ -1,28 +1,110 @@
 package com.ninjaone.dundie_awards.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ninjaone.dundie_awards.config.UserCacheProperties;
 import com.ninjaone.dundie_awards.model.User;
 import com.ninjaone.dundie_awards.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Loads users for authentication through a bounded, TTL-limited cache. Local changes to
+ * users or roles clear the cache once committed; the TTL bounds how long changes made by
+ * other nodes can go unnoticed.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCacheProperties properties;
+    private final Cache<String, UserDetails> cache;
+    private final Counter prewarmed;
 
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  UserCacheProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+        this.prewarmed = Counter.builder("user.details.cache.prewarmed")
+                .description("Users loaded into the user details cache at startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the cached entry: authentication erases the password of the
+     * {@link UserDetails} it is given, which must not affect the cache.
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        UserDetails cached = cache.get(username, key -> userRepository.findByUsername(key)
+                .map(UserDetailsServiceImpl::toUserDetails)
+                .orElse(null));
+        if (cached == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Stores a re-hashed password after a login whose stored hash used an outdated cost.
+     * Saving the user clears the cache through {@link UserChangeListener}.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(entity -> {
+            entity.setPassword(newPassword);
+            userRepository.save(entity);
+            log.info("Re-hashed password of user {} with the current BCrypt strength", entity.getUsername());
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        List<String> usernames = properties.getPrewarmUsernames();
+        if (usernames.isEmpty()) {
+            return;
+        }
+        List<User> users = userRepository.findAllWithRolesByUsernameIn(usernames);
+        users.forEach(user -> cache.put(user.getUsername(), toUserDetails(user)));
+        prewarmed.increment(users.size());
+        log.info("Pre-warmed user details cache with {} of {} configured service accounts", users.size(), usernames.size());
+    }
 
+    /**
+     * Clears the whole cache rather than one entry, since a rename leaves the old username cached.
+     * User changes are rare, so reloading everyone afterwards is cheap.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("User {} changed - clearing user details cache", event.username());
+        cache.invalidateAll();
+    }
+
+    private static UserDetails toUserDetails(User user) {
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getUsername())
                 .password(user.getPassword())
@@ -36,4 +118,3 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .build();
     }
 }
-
@@ -0,0 +1,51 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.model.WriteSequence;
+import com.ninjaone.dundie_awards.model.WriteSequenceName;
+import com.ninjaone.dundie_awards.repository.WriteSequenceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@Transactional
+public class WriteSequenceService {
+
+    private final WriteSequenceRepository writeSequenceRepository;
+
+    public WriteSequenceService(WriteSequenceRepository writeSequenceRepository) {
+        this.writeSequenceRepository = writeSequenceRepository;
+    }
+
+    /**
+     * Creates the sequence rows that do not exist yet, so concurrent first writes only ever UPDATE.
+     */
+    public void initialize() {
+        for (WriteSequenceName name : WriteSequenceName.values()) {
+            if (!writeSequenceRepository.existsById(name)) {
+                writeSequenceRepository.save(new WriteSequence(name, 0L));
+            }
+        }
+    }
+
+    @Transactional(readOnly=true)
+    public long current(WriteSequenceName name) {
+        return writeSequenceRepository.findValueByName(name).orElse(0L);
+    }
+
+    /**
+     * Bumps the given sequences inside the caller's transaction, so the new value becomes
+     * visible together with the write it describes.
+     */
+    public void markChanged(WriteSequenceName... names) {
+        for (WriteSequenceName name : names) {
+            if (writeSequenceRepository.increment(name) == 0) {
+                log.debug("Write sequence {} missing, creating it", name);
+                writeSequenceRepository.save(new WriteSequence(name, 1L));
+            }
+        }
+    }
+}
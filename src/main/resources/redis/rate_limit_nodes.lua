@@ -0,0 +1,12 @@
+-- Heartbeat of a RateLimitFilter node. The number of live nodes sizes each node's share of the
+-- buckets it falls back to while Redis is unreachable.
+-- KEYS[1]: sorted set of node ids, scored by their last heartbeat (micros of Redis TIME)
+-- ARGV: node id, micros without a heartbeat after which a node is dropped
+-- Reply: number of live nodes, this one included
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local ttl = tonumber(ARGV[2])
+redis.call('ZADD', KEYS[1], string.format('%.0f', now), ARGV[1])
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', string.format('%.0f', now - ttl))
+redis.call('PEXPIRE', KEYS[1], math.ceil(ttl / 1000))
+return redis.call('ZCARD', KEYS[1])
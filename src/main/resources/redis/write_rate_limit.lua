@@ -0,0 +1,52 @@
+-- Token buckets for RateLimitFilter, checked and updated in one atomic step.
+-- KEYS: one hash per bucket, fields t (tokens) and ts (last update, micros of Redis TIME)
+-- ARGV: cost, then capacity and refill period (micros) for each key
+-- Reply: allowed (1/0), 1-based index of the bucket that rejected (0 if none), micros until
+-- that bucket has enough tokens, then remaining tokens and micros until full for each key.
+-- Tokens refill continuously; a bucket that is full again is simply absent.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local cost = tonumber(ARGV[1])
+
+local tokens = {}
+local blocking = 0
+local wait = 0
+for i = 1, #KEYS do
+    local capacity = tonumber(ARGV[2 * i])
+    local period = tonumber(ARGV[2 * i + 1])
+    local state = redis.call('HMGET', KEYS[i], 't', 'ts')
+    local t = tonumber(state[1])
+    if t == nil then
+        t = capacity
+    else
+        local elapsed = math.max(0, now - tonumber(state[2]))
+        t = math.min(capacity, t + elapsed * capacity / period)
+    end
+    tokens[i] = t
+    if t < cost then
+        local needed = math.ceil((cost - t) * period / capacity)
+        if needed > wait then
+            wait = needed
+            blocking = i
+        end
+    end
+end
+
+local allowed = 1
+if blocking > 0 then
+    allowed = 0
+end
+local reply = {allowed, blocking, wait}
+for i = 1, #KEYS do
+    local capacity = tonumber(ARGV[2 * i])
+    local period = tonumber(ARGV[2 * i + 1])
+    local t = tokens[i]
+    if allowed == 1 then
+        t = t - cost
+        redis.call('HSET', KEYS[i], 't', string.format('%.17g', t), 'ts', string.format('%.0f', now))
+        redis.call('PEXPIRE', KEYS[i], math.ceil((capacity - t) * period / capacity / 1000) + 1)
+    end
+    reply[#reply + 1] = math.floor(t)
+    reply[#reply + 1] = math.ceil((capacity - t) * period / capacity)
+end
+return reply
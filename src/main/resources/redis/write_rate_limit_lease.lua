@@ -0,0 +1,43 @@
+-- Leases tokens for LeasingRateLimitStore. Unlike write_rate_limit.lua every key is handled on
+-- its own: a positive amount takes up to that many whole tokens, a negative amount puts unused
+-- tokens back (never above capacity).
+-- KEYS: the bucket hashes, same layout as write_rate_limit.lua
+-- ARGV: capacity, refill period (micros) and amount for each key
+-- Reply per key: tokens granted, whole tokens left, micros until the next token, micros until full
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+
+local reply = {}
+for i = 1, #KEYS do
+    local capacity = tonumber(ARGV[3 * i - 2])
+    local period = tonumber(ARGV[3 * i - 1])
+    local amount = tonumber(ARGV[3 * i])
+    local state = redis.call('HMGET', KEYS[i], 't', 'ts')
+    local t = tonumber(state[1])
+    if t == nil then
+        t = capacity
+    else
+        local elapsed = math.max(0, now - tonumber(state[2]))
+        t = math.min(capacity, t + elapsed * capacity / period)
+    end
+
+    local granted = 0
+    if amount > 0 then
+        granted = math.max(0, math.min(amount, math.floor(t)))
+        t = t - granted
+    else
+        t = math.min(capacity, t - amount)
+    end
+    redis.call('HSET', KEYS[i], 't', string.format('%.17g', t), 'ts', string.format('%.0f', now))
+    redis.call('PEXPIRE', KEYS[i], math.ceil((capacity - t) * period / capacity / 1000) + 1)
+
+    local toNext = 0
+    if t < 1 then
+        toNext = math.ceil((1 - t) * period / capacity)
+    end
+    reply[#reply + 1] = granted
+    reply[#reply + 1] = math.floor(t)
+    reply[#reply + 1] = toNext
+    reply[#reply + 1] = math.ceil((capacity - t) * period / capacity)
+end
+return reply
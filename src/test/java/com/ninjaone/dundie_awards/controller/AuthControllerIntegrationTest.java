@@ -0,0 +1,131 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.util.TestAuthUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@SuppressWarnings("null")
+class AuthControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestAuthUtil testAuthUtil;
+
+    @BeforeEach
+    void setUp() {
+        // creates testuser/password
+        testAuthUtil.getDefaultAuthToken();
+    }
+
+    @Test
+    void testLoginReturnsAccessAndRefreshToken() throws Exception {
+        login()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.type").value("Bearer"))
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                .andExpect(jsonPath("$.expiresIn").isNumber());
+    }
+
+    @Test
+    void testRefreshRotatesToken() throws Exception {
+        String refreshToken = field(login(), "refreshToken");
+
+        ResultActions refreshed = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.username").value("testuser"));
+        String rotated = field(refreshed, "refreshToken");
+        assertThat(rotated).isNotEqualTo(refreshToken);
+
+        refresh(rotated).andExpect(status().isOk());
+    }
+
+    @Test
+    void testReusedRefreshTokenRevokesFamily() throws Exception {
+        String refreshToken = field(login(), "refreshToken");
+        String rotated = field(refresh(refreshToken).andExpect(status().isOk()), "refreshToken");
+
+        // replaying the first token looks like theft: the whole family is revoked
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token has already been used"));
+        refresh(rotated).andExpect(status().isUnauthorized());
+
+        // a new login starts a new family
+        refresh(field(login(), "refreshToken")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testUnknownRefreshTokenIsRejected() throws Exception {
+        refresh("not-a-refresh-token")
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Unknown refresh token"));
+    }
+
+    @Test
+    void testLogoutRevokesAccessAndRefreshTokens() throws Exception {
+        ResultActions loggedIn = login();
+        String accessToken = field(loggedIn, "token");
+        String refreshToken = field(loggedIn, "refreshToken");
+        mockMvc.perform(get("/api/employees").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/employees").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isForbidden());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testLogoutRequiresAccessToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")).andExpect(status().isForbidden());
+    }
+
+    private ResultActions login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("username", "testuser", "password", "password"))));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))));
+    }
+
+    private String field(ResultActions result, String name) throws Exception {
+        JsonNode body = objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+        return body.get(name).asText();
+    }
+}
@@ -1,6 +1,8 @@
 package com.ninjaone.dundie_awards.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.ninjaone.dundie_awards.dto.AwardRequest;
 import com.ninjaone.dundie_awards.model.AwardType;
 import com.ninjaone.dundie_awards.dto.EmployeeDto;
@@ -10,6 +12,7 @@ import com.ninjaone.dundie_awards.model.Activity;
 import com.ninjaone.dundie_awards.model.ActivityType;
 import com.ninjaone.dundie_awards.model.Employee;
 import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.proto.EmployeePage;
 import com.ninjaone.dundie_awards.repository.ActivityRepository;
 import com.ninjaone.dundie_awards.repository.EmployeeRepository;
 import com.ninjaone.dundie_awards.repository.OrganizationRepository;
@@ -27,6 +30,8 @@ import java.util.List;
 
 import lombok.NonNull;
 
+import static com.ninjaone.dundie_awards.util.SqlStatisticsMatchers.sqlStatements;
+import static org.hamcrest.Matchers.hasItem;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -94,6 +99,74 @@ class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.last").value(true));
     }
 
+    @Test
+    void testStreamAllEmployeesAsNdjson() throws Exception {
+        // Given - more employees than one default page
+        @NonNull Organization organization = organizationRepository.save(Organization.builder()
+                .name("Test Organization")
+                .build());
+        for (int i = 0; i < 25; i++) {
+            employeeRepository.save(Employee.builder()
+                    .firstName("Employee" + i)
+                    .lastName("Last" + i)
+                    .organization(organization)
+                    .dundieAwards(0)
+                    .build());
+        }
+
+        String body = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(25);
+        EmployeeDto first = objectMapper.readValue(lines.get(0), EmployeeDto.class);
+        assertThat(first.firstName()).isEqualTo("Employee0");
+        assertThat(first.organizationName()).isEqualTo("Test Organization");
+    }
+
+    @Test
+    void testGetAllEmployeesAsBinaryFormats() throws Exception {
+        // Given
+        @NonNull Organization organization = organizationRepository.save(Organization.builder()
+                .name("Test Organization")
+                .build());
+        employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(organization)
+                .dundieAwards(2)
+                .build());
+
+        byte[] cbor = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.parseMediaType("application/cbor")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        JsonNode cborPage = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertThat(cborPage.get("totalElements").asLong()).isEqualTo(1);
+        assertThat(cborPage.get("items").get(0).get("lastName").asText()).isEqualTo("Doe");
+
+        byte[] protobuf = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.parseMediaType("application/x-protobuf")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        EmployeePage protobufPage = EmployeePage.parseFrom(protobuf);
+        assertThat(protobufPage.getPage().getTotalElements()).isEqualTo(1);
+        assertThat(protobufPage.getItems(0).getLastName()).isEqualTo("Doe");
+        assertThat(protobufPage.getItems(0).getDundieAwards()).isEqualTo(2);
+        assertThat(protobufPage.getItems(0).getOrganizationName()).isEqualTo("Test Organization");
+    }
+
     @Test
     void testGetAllEmployeesWithPagination() throws Exception {
         // Given - create 5 employees
@@ -210,7 +283,9 @@ class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.lastName").value("Doe"))
                 .andExpect(jsonPath("$.organizationId").value(organization.getId()))
                 .andExpect(jsonPath("$.organizationName").value("Test Organization"))
-                .andExpect(jsonPath("$.dundieAwards").value(0));
+                .andExpect(jsonPath("$.dundieAwards").value(0))
+                // only the version query; the employee is still in the test transaction's persistence context
+                .andExpect(sqlStatements(1));
     }
 
     @Test
@@ -219,6 +294,7 @@ class EmployeeControllerIntegrationTest {
 
         mockMvc.perform(get("/api/employees/{id}", nonExistentId))
                 .andExpect(status().isNotFound())
+                .andExpect(sqlStatements(1))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(jsonPath("$.status").value(404))
                 .andExpect(jsonPath("$.message").value("Employee with id 999 not found"));
@@ -474,6 +550,148 @@ class EmployeeControllerIntegrationTest {
         assertThat(activities).allMatch(a -> employeeId.equals(a.getEmployee().getId()));
     }
 
+    @Test
+    void testGetEmployeeWithAwardBreakdown() throws Exception {
+        // Given
+        @NonNull Organization organization = organizationRepository.save(Organization.builder()
+                .name("Test Organization")
+                .build());
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(organization)
+                .dundieAwards(0)
+                .build();
+        employee = employeeRepository.save(employee);
+
+        String awardRequestJson = objectMapper.writeValueAsString(new AwardRequest(AwardType.MENTORED_COLLEAGUE));
+        mockMvc.perform(post("/api/employees/{id}/awards", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(awardRequestJson))
+                .andExpect(status().isOk());
+
+        // Breakdown is opt-in
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.awardBreakdown").doesNotExist());
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId())
+                        .param("includeAwardBreakdown", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dundieAwards").value(1))
+                .andExpect(jsonPath("$.awardBreakdown.MENTORED_COLLEAGUE").value(1))
+                .andExpect(jsonPath("$.awardBreakdown.INNOVATION").value(0));
+    }
+
+    @Test
+    void testConditionalGetAndUpdateWithETag() throws Exception {
+        // Given
+        @NonNull Organization organization = organizationRepository.save(Organization.builder()
+                .name("Test Organization")
+                .build());
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(organization)
+                .dundieAwards(0)
+                .build());
+
+        String eTag = mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        String updateRequestJson = objectMapper.writeValueAsString(
+                new EmployeeRequest("John", "Updated", organization.getId()));
+        String newETag = mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(updateRequestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Updated"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        assertThat(newETag).isNotEqualTo(eTag);
+
+        // A write based on the old version is rejected instead of overwriting the update
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(updateRequestJson))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId())
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", newETag));
+    }
+
+    @Test
+    void testConditionalGetOfEmployeeList() throws Exception {
+        // Given
+        @NonNull Organization organization = organizationRepository.save(Organization.builder()
+                .name("Test Organization")
+                .build());
+
+        String eTag = mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/employees").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(
+                                new EmployeeRequest("Jane", "Doe", organization.getId()))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/employees").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+    }
+
+    @Test
+    void testETagDependsOnTheNegotiatedEncoding() throws Exception {
+        String jsonETag = mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        String cborETag = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.parseMediaType("application/cbor")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        assertThat(cborETag).isNotEqualTo(jsonETag).endsWith("-cbor\"");
+        // a tag of one encoding must not validate another
+        mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.parseMediaType("application/cbor"))
+                        .header("If-None-Match", jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+        mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.parseMediaType("application/cbor"))
+                        .header("If-None-Match", cborETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
     @Test
     void testAwardEmployeeWithNullAwards() throws Exception {
         // Given
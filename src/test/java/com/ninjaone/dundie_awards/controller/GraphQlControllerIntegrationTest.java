@@ -0,0 +1,240 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.filter.Bulkhead;
+import com.ninjaone.dundie_awards.filter.BulkheadFilter;
+import com.ninjaone.dundie_awards.filter.EndpointGroup;
+import com.ninjaone.dundie_awards.model.Activity;
+import com.ninjaone.dundie_awards.model.ActivityType;
+import com.ninjaone.dundie_awards.model.Award;
+import com.ninjaone.dundie_awards.model.AwardType;
+import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "bulkhead.reads.max-queued=0",
+        "graphql.organization-employees=3"
+})
+@AutoConfigureGraphQlTester
+@AutoConfigureMockMvc
+@Import(com.ninjaone.dundie_awards.config.TestSecurityConfig.class)
+@SuppressWarnings("null")
+class GraphQlControllerIntegrationTest {
+
+    private static final String EMPLOYEES_WITH_AWARDS = """
+            query($size: Int) {
+              employees(size: $size) {
+                id firstName
+                organization { name }
+                recentAwards { type awardedAt }
+                recentActivities { event }
+              }
+            }""";
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BulkheadFilter bulkheadFilter;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        employeeRepository.deleteAll();
+        organizationRepository.deleteAll();
+    }
+
+    @Test
+    void testNestedFieldsUseConstantNumberOfQueries() {
+        createEmployees(50);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        graphQlTester.document(EMPLOYEES_WITH_AWARDS).variable("size", 5).execute()
+                .path("employees").entityList(Map.class).hasSize(5);
+        long queriesForFive = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        graphQlTester.document(EMPLOYEES_WITH_AWARDS).variable("size", 50).execute()
+                .path("employees").entityList(Map.class).hasSize(50)
+                .path("employees[0].organization.name").entity(String.class).isEqualTo("Org 0")
+                .path("employees[0].recentAwards").entityList(Map.class).hasSize(2)
+                .path("employees[0].recentAwards[0].type").entity(String.class).isEqualTo("INNOVATION")
+                .path("employees[0].recentActivities[0].event").entity(String.class).isEqualTo("AWARD_GRANTED");
+        long queriesForFifty = statistics.getPrepareStatementCount();
+
+        // one for the employees page, one per batched list field
+        assertThat(queriesForFifty).isEqualTo(queriesForFive).isEqualTo(3);
+    }
+
+    @Test
+    void testOrganizationWithEmployees() {
+        createEmployees(4);
+        Long organizationId = organizationRepository.findAll().get(0).getId();
+
+        graphQlTester.document("""
+                        query($id: ID!) {
+                          organization(id: $id) { name employees { lastName } }
+                        }""")
+                .variable("id", organizationId)
+                .execute()
+                .path("organization.name").entity(String.class).isEqualTo("Org 0")
+                .path("organization.employees").entityList(Map.class).hasSize(2);
+    }
+
+    @Test
+    void testOrganizationEmployeesAreCappedAndChargedAtTheCap() {
+        createEmployees(10);
+
+        // 100 organizations of 3 employees each fit the complexity limit; of 20 they would not
+        graphQlTester.document("{ organizations(size: 100) { name employees { firstName } } }")
+                .execute()
+                .path("organizations").entityList(Map.class).hasSize(2)
+                .path("organizations[0].employees").entityList(Map.class).hasSize(3)
+                .path("organizations[0].employees[*].firstName").entityList(String.class)
+                .containsExactly("First0", "First2", "First4")
+                .path("organizations[1].employees").entityList(Map.class).hasSize(3);
+    }
+
+    @Test
+    void testUnknownEmployeeIsNull() {
+        graphQlTester.document("{ employee(id: 999999) { id } }")
+                .execute()
+                .path("employee").valueIsNull();
+    }
+
+    @Test
+    void testTooDeepQueryIsRejected() {
+        graphQlTester.document("""
+                        {
+                          employee(id: 1) {
+                            organization { employees { organization { employees { organization { name } } } } }
+                          }
+                        }""")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).anySatisfy(error ->
+                        assertThat(error.getMessage()).contains("depth")));
+    }
+
+    @Test
+    void testTooComplexQueryIsRejected() {
+        graphQlTester.document("""
+                        {
+                          organizations(size: 100) { employees { recentAwards { id } recentActivities { id } } }
+                        }""")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).anySatisfy(error ->
+                        assertThat(error.getMessage()).contains("complexity")));
+    }
+
+    @Test
+    void testPageSizeOverLimitIsBadRequest() {
+        graphQlTester.document("{ employees(size: 1000) { id } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).anySatisfy(error ->
+                        assertThat(error.getErrorType()).isEqualTo(ErrorType.BAD_REQUEST)));
+    }
+
+    @Test
+    void testQueryOverHttpTakesAReadsPermit() throws Exception {
+        Bulkhead reads = bulkheadFilter.getBulkhead(EndpointGroup.READS);
+        int held = 0;
+        while (reads.tryAcquire(Bulkhead.Priority.INTERACTIVE)) {
+            held++;
+        }
+        try {
+            graphQlOverHttp().andExpect(status().isServiceUnavailable());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                reads.release(Bulkhead.Priority.INTERACTIVE, 0);
+            }
+        }
+
+        graphQlOverHttp().andExpect(status().isOk());
+    }
+
+    private ResultActions graphQlOverHttp() throws Exception {
+        return mockMvc.perform(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\": \"{ organizations { id } }\"}"));
+    }
+
+    /**
+     * Spreads the employees over two organizations; each has two awards, the latest an INNOVATION.
+     */
+    private void createEmployees(int count) {
+        List<Organization> organizations = organizationRepository.saveAll(List.of(
+                Organization.builder().name("Org 0").build(),
+                Organization.builder().name("Org 1").build()));
+        Instant now = Instant.now();
+        List<Activity> activities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .dundieAwards(0)
+                    .organization(organizations.get(i % 2))
+                    .build();
+            employee.addAward(Award.builder()
+                    .type(AwardType.HELPED_TEAMMATE)
+                    .awardedAt(now.minusSeconds(60))
+                    .build());
+            employee.addAward(Award.builder()
+                    .type(AwardType.INNOVATION)
+                    .awardedAt(now)
+                    .build());
+            employee = employeeRepository.save(employee);
+            activities.add(Activity.builder()
+                    .occurredAt(now)
+                    .event(ActivityType.AWARD_GRANTED)
+                    .employee(employee)
+                    .build());
+        }
+        activityRepository.saveAll(activities);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.dto.Dashboard;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the dashboard queries run on their own threads and must see committed rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(com.ninjaone.dundie_awards.config.TestSecurityConfig.class)
+@SuppressWarnings("null")
+class IndexControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        employeeRepository.deleteAll();
+        organizationRepository.deleteAll();
+        employees.clear();
+
+        Organization organization = organizationRepository.save(Organization.builder()
+                .name("Dunder Mifflin")
+                .build());
+        for (String name : List.of("Michael", "Dwight", "Jim")) {
+            employees.add(employeeRepository.save(Employee.builder()
+                    .firstName(name)
+                    .lastName("Scranton")
+                    .dundieAwards(0)
+                    .organization(organization)
+                    .build()));
+        }
+    }
+
+    @Test
+    void testDashboardShowsNewestEmployeesFirstAndPagesWithCursor() throws Exception {
+        Dashboard first = (Dashboard) mockMvc.perform(get("/").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(content().string(containsString("Jim")))
+                .andExpect(content().string(containsString("Older employees")))
+                .andExpect(content().string(not(containsString("Michael"))))
+                .andReturn().getModelAndView().getModel().get("dashboard");
+
+        assertThat(first.employees().items()).extracting(EmployeeDto::firstName).containsExactly("Jim", "Dwight");
+        assertThat(first.employees().nextCursor()).isEqualTo(employees.get(1).getId());
+        assertThat(first.activities().items()).isEmpty();
+
+        Dashboard second = (Dashboard) mockMvc.perform(get("/")
+                        .param("size", "2")
+                        .param("employeesBefore", String.valueOf(first.employees().nextCursor())))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Michael")))
+                .andExpect(content().string(containsString("Newest employees")))
+                .andReturn().getModelAndView().getModel().get("dashboard");
+
+        assertThat(second.employees().items()).extracting(EmployeeDto::firstName).containsExactly("Michael");
+        assertThat(second.employees().nextCursor()).isNull();
+    }
+
+    @Test
+    void testPageSizeIsBounded() throws Exception {
+        mockMvc.perform(get("/").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("size", IndexController.MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,51 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.config.TestSecurityConfig;
+import com.ninjaone.dundie_awards.util.TestAuthUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Logout with tokens that stopped being valid after the security filter accepted them, e.g.
+ * revoked by a concurrent logout. Security is open here so such tokens reach the controller.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestSecurityConfig.class)
+@SuppressWarnings("null")
+class LogoutIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestAuthUtil testAuthUtil;
+
+    @Test
+    void testLogoutWithAnAlreadyRevokedTokenIsUnauthorized() throws Exception {
+        String authorization = testAuthUtil.getDefaultAuthToken();
+        logout(authorization).andExpect(status().isNoContent());
+
+        logout(authorization)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid, expired or revoked access token"));
+    }
+
+    @Test
+    void testLogoutWithAMalformedTokenIsUnauthorized() throws Exception {
+        logout("Bearer not-a-jwt").andExpect(status().isUnauthorized());
+        logout("Basic dGVzdHVzZXI6cGFzc3dvcmQ=").andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions logout(String authorization) throws Exception {
+        return mockMvc.perform(post("/api/auth/logout").header("Authorization", authorization));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Import(com.ninjaone.dundie_awards.config.TestSecurityConfig.class)
+@SuppressWarnings("null")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        employeeRepository.deleteAll();
+        organizationRepository.deleteAll();
+        organizationRepository.save(Organization.builder()
+                .name("Dunder Mifflin")
+                .build());
+    }
+
+    @Test
+    void testHotPathMetricsAreScrapedInPrometheusFormat() throws Exception {
+        mockMvc.perform(get("/api/organizations"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/organizations\"")))
+                .andExpect(content().string(containsString(
+                        "service_calls_seconds_bucket{class=\"com.ninjaone.dundie_awards.service.OrganizationService\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")));
+    }
+}
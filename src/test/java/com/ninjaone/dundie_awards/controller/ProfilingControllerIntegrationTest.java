@@ -0,0 +1,112 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "profiling.slow-request-threshold=0ms")
+@AutoConfigureMockMvc
+@Import(com.ninjaone.dundie_awards.config.TestSecurityConfig.class)
+@SuppressWarnings("null")
+class ProfilingControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        employeeRepository.deleteAll();
+        organizationRepository.deleteAll();
+        organizationRepository.save(Organization.builder()
+                .name("Dunder Mifflin")
+                .build());
+    }
+
+    @Test
+    void testRecordingHoldsTheStagesOfRequests() throws Exception {
+        mockMvc.perform(post("/api/admin/profiling/recording"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        mockMvc.perform(post("/api/admin/profiling/recording"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/organizations"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/admin/profiling/recording"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+        byte[] dump = mockMvc.perform(get("/api/admin/profiling/recording/dump"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", startsWith("attachment")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.write(tempDir.resolve("dump.jfr"), dump);
+        List<String> stages = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("dundie_awards.RequestStage"))
+                .map(ProfilingControllerIntegrationTest::describe)
+                .toList();
+        assertThat(stages).contains(
+                "SERVICE OrganizationService.getOrganizationPage",
+                "REPOSITORY OrganizationRepository.findAll",
+                "SERIALIZATION application/json");
+    }
+
+    @Test
+    void testSlowRequestsKeepTheirStageBreakdown() throws Exception {
+        mockMvc.perform(get("/api/organizations"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/profiling/slow-requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].method").value("GET"))
+                .andExpect(jsonPath("$[0].uri").value("/api/organizations"))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].stages[*]", hasItem(startsWith("SERVICE OrganizationService.getOrganizationPage 1x"))));
+    }
+
+    @Test
+    void testStoppingWithoutARecordingIsAConflict() throws Exception {
+        mockMvc.perform(delete("/api/admin/profiling/recording"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    private static String describe(RecordedEvent event) {
+        return event.getString("stage") + " " + event.getString("operation");
+    }
+}
@@ -0,0 +1,156 @@
+package com.ninjaone.dundie_awards.controller;
+
+import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import com.ninjaone.dundie_awards.tracing.LocalSpanExporter;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: the dashboard queries run on their own threads and must see committed rows.
+ */
+@SpringBootTest(properties = "tracing.local-exporter.enabled=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(com.ninjaone.dundie_awards.config.TestSecurityConfig.class)
+@SuppressWarnings("null")
+class TracingIntegrationTest {
+
+    private static final AttributeKey<String> CLASS = AttributeKey.stringKey("class");
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("method");
+    private static final AttributeKey<String> URI = AttributeKey.stringKey("uri");
+    private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey("db.statement");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocalSpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        employeeRepository.deleteAll();
+        organizationRepository.deleteAll();
+        Organization organization = organizationRepository.save(Organization.builder()
+                .name("Dunder Mifflin")
+                .build());
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("Jim")
+                .lastName("Halpert")
+                .dundieAwards(0)
+                .organization(organization)
+                .build());
+        finishedSpans();
+        spanExporter.reset();
+    }
+
+    @Test
+    void testControllerServiceAndStatementSpansNestUnderTheServerSpan() throws Exception {
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = finishedSpans();
+        SpanData server = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER && "/api/employees/{id}".equals(span.getAttributes().get(URI)))
+                .findFirst().orElseThrow();
+        SpanData controller = observed(spans, "EmployeeController", "get");
+        SpanData service = observed(spans, "EmployeeService", "getEmployee");
+        List<SpanData> statements = statements(spans, "from employees");
+
+        Map<String, SpanData> byId = byId(spans);
+        assertThat(isDescendant(controller, server, byId)).isTrue();
+        assertThat(isDescendant(service, controller, byId)).isTrue();
+        assertThat(statements).isNotEmpty()
+                .allSatisfy(statement -> assertThat(isDescendant(statement, server, byId)).isTrue())
+                .anySatisfy(statement -> assertThat(isDescendant(statement, service, byId)).isTrue());
+    }
+
+    @Test
+    void testTraceFollowsDashboardQueriesOntoTheirThreads() throws Exception {
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = finishedSpans();
+        SpanData service = observed(spans, "DashboardService", "getDashboard");
+        Map<String, SpanData> byId = byId(spans);
+
+        assertThat(statements(spans, "from activities"))
+                .isNotEmpty()
+                .allSatisfy(statement -> assertThat(isDescendant(statement, service, byId)).isTrue());
+        assertThat(statements(spans, "from employees"))
+                .isNotEmpty()
+                .allSatisfy(statement -> assertThat(isDescendant(statement, service, byId)).isTrue());
+    }
+
+    private List<SpanData> finishedSpans() {
+        assertThat(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+        return spanExporter.getFinishedSpans();
+    }
+
+    private static SpanData observed(List<SpanData> spans, String simpleClassName, String method) {
+        return spans.stream()
+                .filter(span -> method.equals(span.getAttributes().get(METHOD)))
+                .filter(span -> String.valueOf(span.getAttributes().get(CLASS)).endsWith("." + simpleClassName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span for " + simpleClassName + "#" + method + " in " + spans));
+    }
+
+    private static List<SpanData> statements(List<SpanData> spans, String fragment) {
+        return spans.stream()
+                .filter(span -> String.valueOf(span.getAttributes().get(STATEMENT)).contains(fragment))
+                .toList();
+    }
+
+    private static Map<String, SpanData> byId(List<SpanData> spans) {
+        return spans.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity(), (a, b) -> a));
+    }
+
+    private static boolean isDescendant(SpanData span, SpanData ancestor, Map<String, SpanData> byId) {
+        SpanData current = span;
+        while (current != null) {
+            if (current.getParentSpanId().equals(ancestor.getSpanId())) {
+                return current.getTraceId().equals(ancestor.getTraceId());
+            }
+            current = byId.get(current.getParentSpanId());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for the bulkheads: saturates the bulk-write bulkhead with slow requests and
+ * checks that concurrent reads still complete quickly.
+ */
+class BulkheadFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+        bulkheads.put(EndpointGroup.READS,
+                new Bulkhead(EndpointGroup.READS, 8, 1000, Duration.ofSeconds(5), meterRegistry));
+        bulkheads.put(EndpointGroup.WRITES,
+                new Bulkhead(EndpointGroup.WRITES, 2, 10, Duration.ofSeconds(1), meterRegistry));
+        bulkheads.put(EndpointGroup.BULK_WRITES,
+                new Bulkhead(EndpointGroup.BULK_WRITES, 1, 0, Duration.ZERO, meterRegistry));
+        bulkheads.put(EndpointGroup.AUTH,
+                new Bulkhead(EndpointGroup.AUTH, 2, 10, Duration.ofSeconds(1), meterRegistry));
+        filter = new BulkheadFilter(bulkheads, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void testClassify() {
+        assertThat(EndpointGroup.classify("GET", "/api/employees/1")).isEqualTo(EndpointGroup.READS);
+        assertThat(EndpointGroup.classify("POST", "/api/employees")).isEqualTo(EndpointGroup.WRITES);
+        assertThat(EndpointGroup.classify("POST", "/api/employees/1/awards")).isEqualTo(EndpointGroup.WRITES);
+        assertThat(EndpointGroup.classify("POST", "/api/organizations/1/awards")).isEqualTo(EndpointGroup.BULK_WRITES);
+        assertThat(EndpointGroup.classify("POST", "/api/auth/login")).isEqualTo(EndpointGroup.AUTH);
+        assertThat(EndpointGroup.classify("POST", "/graphql")).isEqualTo(EndpointGroup.READS);
+    }
+
+    @Test
+    void testReadsAreIsolatedFromSaturatedBulkWrites() throws Exception {
+        CountDownLatch bulkWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseBulkWrite = new CountDownLatch(1);
+        FilterChain slowBulkWrite = (req, res) -> {
+            bulkWriteStarted.countDown();
+            try {
+                releaseBulkWrite.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        FilterChain fastRead = (req, res) -> ((MockHttpServletResponse) res).setStatus(200);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Occupy the only bulk-write permit
+            Future<MockHttpServletResponse> blocked = executor.submit(() ->
+                    perform("POST", "/api/organizations/1/awards", slowBulkWrite));
+            assertThat(bulkWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // A second bulk write is shed immediately
+            MockHttpServletResponse rejected = perform("POST", "/api/organizations/2/awards", fastRead);
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+            // Meanwhile a burst of reads goes through without waiting on the bulk write
+            List<Future<Long>> reads = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                reads.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    MockHttpServletResponse response = perform("GET", "/api/employees/1", fastRead);
+                    assertThat(response.getStatus()).isEqualTo(200);
+                    return System.nanoTime() - start;
+                }));
+            }
+            long slowestReadNanos = 0;
+            for (Future<Long> read : reads) {
+                slowestReadNanos = Math.max(slowestReadNanos, read.get(10, TimeUnit.SECONDS));
+            }
+            assertThat(Duration.ofNanos(slowestReadNanos)).isLessThan(Duration.ofSeconds(2));
+            assertThat(blocked.isDone()).isFalse();
+
+            releaseBulkWrite.countDown();
+            assertThat(blocked.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        }
+
+        assertThat(meterRegistry.get("bulkhead.rejected").tag("group", "bulk-writes").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("bulkhead.rejected").tag("group", "reads").counter().count())
+                .isZero();
+        assertThat(filter.getBulkhead(EndpointGroup.BULK_WRITES).getActive()).isZero();
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.BulkheadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void testLimitShrinksOnSlowRequestsAndRecovers() throws Exception {
+        Bulkhead bulkhead = bulkhead(new BulkheadProperties.Group(8, 0, Duration.ZERO, Duration.ofMillis(100)));
+        assertThat(bulkhead.getLimit()).isEqualTo(8);
+
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        bulkhead.release(Bulkhead.Priority.INTERACTIVE, SLOW);
+        assertThat(bulkhead.getLimit()).isEqualTo(7);
+
+        // the rest of the same slow burst does not shrink it further
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        bulkhead.release(Bulkhead.Priority.INTERACTIVE, SLOW);
+        assertThat(bulkhead.getLimit()).isEqualTo(7);
+
+        // fast requests grow it back, but only while the limit is actually in use
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        bulkhead.release(Bulkhead.Priority.INTERACTIVE, FAST);
+        assertThat(bulkhead.getLimit()).isEqualTo(7);
+        for (int i = 0; i < 4; i++) {
+            assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        }
+        bulkhead.release(Bulkhead.Priority.INTERACTIVE, FAST);
+        assertThat(bulkhead.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void testSlowBulkRequestsLeaveTheLimitAlone() throws Exception {
+        Bulkhead bulkhead = bulkhead(new BulkheadProperties.Group(8, 0, Duration.ZERO, Duration.ofMillis(100)));
+
+        // an export streams for as long as the client reads; that is not database latency
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.BULK)).isTrue();
+        bulkhead.release(Bulkhead.Priority.BULK, SLOW);
+
+        assertThat(bulkhead.getLimit()).isEqualTo(8);
+        assertThat(bulkhead.getActive()).isZero();
+    }
+
+    @Test
+    void testBulkRequestsHoldAtMostTheirShare() throws Exception {
+        Bulkhead bulkhead = bulkhead(new BulkheadProperties.Group(4, 0, Duration.ZERO, Duration.ofSeconds(1)));
+
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.BULK)).isTrue();
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.BULK)).isTrue();
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.BULK)).isFalse();
+
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testWaitingInteractiveRequestsGoFirst() throws Exception {
+        Bulkhead bulkhead = bulkhead(new BulkheadProperties.Group(2, 10, Duration.ofSeconds(5), Duration.ofSeconds(5)));
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+        assertThat(bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE)).isTrue();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> bulk = executor.submit(() -> bulkhead.tryAcquire(Bulkhead.Priority.BULK));
+            awaitQueued(bulkhead, 1);
+            Future<Boolean> interactive = executor.submit(() -> bulkhead.tryAcquire(Bulkhead.Priority.INTERACTIVE));
+            awaitQueued(bulkhead, 2);
+
+            bulkhead.release(Bulkhead.Priority.INTERACTIVE, FAST);
+            assertThat(interactive.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(bulk.isDone()).isFalse();
+
+            bulkhead.release(Bulkhead.Priority.INTERACTIVE, FAST);
+            assertThat(bulk.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(bulkhead.getActive()).isEqualTo(2);
+        assertThat(bulkhead.getQueued()).isZero();
+    }
+
+    private static Bulkhead bulkhead(BulkheadProperties.Group group) {
+        return new Bulkhead(EndpointGroup.READS, group, new BulkheadProperties.Adaptive(), new SimpleMeterRegistry());
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueued() < queued && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.getQueued()).isEqualTo(queued);
+    }
+}
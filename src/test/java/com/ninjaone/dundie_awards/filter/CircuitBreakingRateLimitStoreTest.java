@@ -0,0 +1,124 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakingRateLimitStoreTest {
+
+    private static final RateLimitBucket GLOBAL = new RateLimitBucket(RateLimitLayer.GLOBAL,
+            "global".getBytes(StandardCharsets.UTF_8), 100, TimeUnit.MINUTES.toMicros(1));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private volatile boolean redisDown;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakingRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.CircuitBreaker circuitBreaker = new RateLimitProperties.CircuitBreaker();
+        circuitBreaker.setFailureThreshold(3);
+        circuitBreaker.setOpenDuration(Duration.ofSeconds(10));
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitStore redis = (buckets, cost) -> {
+            remoteCalls.incrementAndGet();
+            return redisDown
+                    ? CompletableFuture.failedFuture(new IllegalStateException("connection refused"))
+                    : CompletableFuture.completedFuture(new RateLimitDecision(true, buckets.get(0), 99, 0, 0));
+        };
+        RateLimitNodeRegistry nodes = (key, nodeId, ttlMicros) -> redisDown
+                ? CompletableFuture.failedFuture(new IllegalStateException("connection refused"))
+                : CompletableFuture.completedFuture(4L);
+        store = new CircuitBreakingRateLimitStore(redis, nodes, circuitBreaker, Duration.ofMinutes(1),
+                new RateLimitMetrics(meterRegistry), clock::get);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void testOutageSwitchesToThisNodesShareOfTheLimit() {
+        store.heartbeat();
+        redisDown = true;
+        store.heartbeat();
+
+        // the first failures before the circuit opens are limited locally too
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (store.consume(List.of(GLOBAL), 1).join().allowed()) {
+                allowed++;
+            }
+        }
+
+        // 100 per minute across the last known 4 nodes
+        assertThat(allowed).isEqualTo(25);
+        assertThat(remoteCalls.get()).isEqualTo(3);
+        assertThat(store.getMode()).isEqualTo(CircuitBreakingRateLimitStore.Mode.LOCAL);
+        assertThat(store.getLiveNodes()).isEqualTo(4);
+        assertThat(meterRegistry.get("rate.limit.degraded").gauge().value()).isEqualTo(1);
+        RateLimitDecision rejected = store.consume(List.of(GLOBAL), 1).join();
+        assertThat(rejected.bucket().capacity()).isEqualTo(25);
+        assertThat(rejected.microsToRefill()).isPositive();
+    }
+
+    @Test
+    void testBulkWritePricedAboveThisNodesShareEmptiesItInsteadOfBeingRejectedForever() {
+        store.heartbeat();
+        redisDown = true;
+        store.heartbeat();
+
+        // 60 tokens fit the shared bucket of 100, but not this node's share of 25
+        RateLimitDecision first = store.consume(List.of(GLOBAL), 60).join();
+        RateLimitDecision second = store.consume(List.of(GLOBAL), 60).join();
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        RateLimitDecision refilled = store.consume(List.of(GLOBAL), 60).join();
+
+        assertThat(store.getLiveNodes()).isEqualTo(4);
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.remaining()).isZero();
+        assertThat(second.allowed()).isFalse();
+        assertThat(second.microsToRefill()).isBetween(1L, TimeUnit.MINUTES.toMicros(1));
+        assertThat(refilled.allowed()).isTrue();
+    }
+
+    @Test
+    void testRejoinsSharedBucketsOnceAProbeSucceeds() {
+        redisDown = true;
+        for (int i = 0; i < 3; i++) {
+            store.consume(List.of(GLOBAL), 1).join();
+        }
+        assertThat(store.getMode()).isEqualTo(CircuitBreakingRateLimitStore.Mode.LOCAL);
+
+        // still open, and a failed probe keeps it open
+        store.consume(List.of(GLOBAL), 1).join();
+        assertThat(remoteCalls.get()).isEqualTo(3);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        store.consume(List.of(GLOBAL), 1).join();
+        assertThat(remoteCalls.get()).isEqualTo(4);
+        assertThat(store.getMode()).isEqualTo(CircuitBreakingRateLimitStore.Mode.LOCAL);
+
+        redisDown = false;
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        RateLimitDecision decision = store.consume(List.of(GLOBAL), 1).join();
+
+        assertThat(decision.remaining()).isEqualTo(99);
+        assertThat(store.getMode()).isEqualTo(CircuitBreakingRateLimitStore.Mode.DISTRIBUTED);
+        assertThat(meterRegistry.get("rate.limit.mode.changes").tag("mode", "distributed").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.JwtProperties;
+import com.ninjaone.dundie_awards.config.JwtTokenProvider;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtAuthenticationFilterTest {
+
+    private final Set<String> revokedTokenIds = new HashSet<>();
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-key-for-jwt-token-generation-in-tests-minimum-32-characters");
+        tokenProvider = new JwtTokenProvider(properties, revokedTokenIds::contains);
+        filter = new JwtAuthenticationFilter(tokenProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidTokenAuthenticatesWithAuthorities() throws Exception {
+        String token = token("admin", "ROLE_ADMIN", "ROLE_USER");
+
+        Authentication authentication = filter(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("admin");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    void testRepeatTokensAreServedFromCache() {
+        String token = token("admin", "ROLE_USER");
+
+        JwtTokenProvider.VerifiedToken first = tokenProvider.verify(token);
+
+        assertThat(tokenProvider.verify(token)).isSameAs(first);
+        // a different token with the same authorities shares the authority list
+        assertThat(tokenProvider.verify(token("jim", "ROLE_USER")).authorities()).isSameAs(first.authorities());
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() throws Exception {
+        String token = token("admin", "ROLE_USER");
+        tokenProvider.verify(token);
+        // another user's claims under this token's signature
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + token("michael", "ROLE_ADMIN").split("\\.")[1] + "." + parts[2];
+
+        assertThatThrownBy(() -> tokenProvider.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(filter(tampered)).isNull();
+    }
+
+    @Test
+    void testRevokedTokenIsRejectedEvenWhenCached() throws Exception {
+        String token = token("admin", "ROLE_USER");
+        JwtTokenProvider.VerifiedToken verified = tokenProvider.verify(token);
+        assertThat(verified.tokenId()).isNotBlank();
+
+        revokedTokenIds.add(verified.tokenId());
+
+        assertThatThrownBy(() -> tokenProvider.verify(token)).isInstanceOf(JwtException.class);
+        assertThat(filter(token)).isNull();
+    }
+
+    @Test
+    void testRequestWithoutTokenIsNotAuthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String token(String username, String... authorities) {
+        List<SimpleGrantedAuthority> granted = Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList();
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(username, null, granted));
+    }
+}
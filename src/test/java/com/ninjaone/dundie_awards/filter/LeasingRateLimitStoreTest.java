@@ -0,0 +1,245 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeasingRateLimitStoreTest {
+
+    private static final RateLimitBucket GLOBAL = bucket(RateLimitLayer.GLOBAL, "global", 1_000);
+    private static final RateLimitBucket USER = bucket(RateLimitLayer.USER, "user:jim", 100);
+    private static final RateLimitBucket OTHER_USER = bucket(RateLimitLayer.USER, "user:pam", 100);
+    private static final RateLimitBucket SMALL_USER = bucket(RateLimitLayer.USER, "user:dwight", 10);
+
+    private FakeLeaseSource source;
+    private RateLimitProperties.Leasing leasing;
+    private List<LeasingRateLimitStore> stores;
+
+    @BeforeEach
+    void setUp() {
+        source = new FakeLeaseSource();
+        leasing = new RateLimitProperties.Leasing();
+        leasing.setEnabled(true);
+        leasing.setLeaseFraction(0.1);
+        leasing.setLeaseTtl(Duration.ofMinutes(1));
+        stores = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(LeasingRateLimitStore::close);
+    }
+
+    @Test
+    void testDecisionsAreServedFromLeases() {
+        LeasingRateLimitStore store = store();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.consume(List.of(GLOBAL), 1).join().allowed()).isTrue();
+        }
+
+        // leases of 100 tokens: a handful of calls instead of one per decision
+        assertThat(source.calls.get()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void testNodesNeverOverspendASharedBucket() throws Exception {
+        LeasingRateLimitStore first = store();
+        LeasingRateLimitStore second = store();
+        AtomicInteger allowed = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                LeasingRateLimitStore store = i % 2 == 0 ? first : second;
+                requests.add(executor.submit(() -> {
+                    if (store.consume(List.of(GLOBAL, USER), 1).join().allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(allowed.get()).isLessThanOrEqualTo(100);
+        // at most one lease of the user bucket (10 tokens) may be stranded on the other node
+        assertThat(allowed.get()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void testRejectionReportsTheShortLayer() {
+        LeasingRateLimitStore store = store();
+        for (int i = 0; i < 100; i++) {
+            store.consume(List.of(GLOBAL, USER), 1);
+        }
+
+        RateLimitDecision decision = store.consume(List.of(GLOBAL, USER), 1).join();
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.bucket().layer()).isEqualTo(RateLimitLayer.USER);
+        assertThat(decision.microsToRefill()).isPositive();
+    }
+
+    @Test
+    void testBucketsTooSmallToLeaseAreConsumedDirectlyNextToLeasedOnes() {
+        LeasingRateLimitStore store = store();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.consume(List.of(GLOBAL, SMALL_USER), 1).join().allowed()).isTrue();
+        }
+        RateLimitDecision decision = store.consume(List.of(GLOBAL, SMALL_USER), 1).join();
+
+        // a 10-token bucket leases one token at a time, so it goes to the store on every request;
+        // the global bucket is still served from its lease
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.bucket().layer()).isEqualTo(RateLimitLayer.USER);
+        assertThat(source.consumes.get()).isEqualTo(11);
+        assertThat(source.calls.get()).isEqualTo(1);
+        assertThat(store.getLeaseCount()).isEqualTo(1);
+
+        // the rejected request's global token went back to the lease, and from there to the bucket
+        stores.remove(store);
+        store.close();
+        assertThat(source.tokens(GLOBAL)).isEqualTo(990);
+    }
+
+    @Test
+    void testRenewalOnlyHoldsUpRequestsForTheSameBucket() throws Exception {
+        LeasingRateLimitStore store = store();
+        source.held = ByteBuffer.wrap(USER.key());
+
+        // returns at once; the decision waits for the renewal
+        CompletableFuture<RateLimitDecision> stalled = store.consume(List.of(USER), 1);
+        CompletableFuture<RateLimitDecision> joined = store.consume(List.of(USER), 1);
+        CompletableFuture<RateLimitDecision> other = store.consume(List.of(OTHER_USER), 1);
+
+        assertThat(other.get(5, TimeUnit.SECONDS).allowed()).isTrue();
+        assertThat(stalled).isNotDone();
+        assertThat(joined).isNotDone();
+        source.release.complete(null);
+        assertThat(stalled.get(5, TimeUnit.SECONDS).allowed()).isTrue();
+        assertThat(joined.get(5, TimeUnit.SECONDS).allowed()).isTrue();
+        // the second request waited for the renewal in flight instead of sending its own
+        assertThat(source.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testHungRenewalFailsTheDecisionInsteadOfBlocking() throws Exception {
+        leasing.setRenewTimeout(Duration.ofMillis(100));
+        LeasingRateLimitStore store = store();
+        source.hung = ByteBuffer.wrap(USER.key());
+
+        CompletableFuture<RateLimitDecision> decision = store.consume(List.of(USER), 1);
+
+        assertThat(decision).isNotDone();
+        assertThatThrownBy(() -> decision.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        // the timed out renewal no longer holds up the lease: the next request tries again
+        assertThatThrownBy(() -> store.consume(List.of(USER), 1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(source.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testUnusedTokensAreReturnedOnClose() {
+        LeasingRateLimitStore store = store();
+        store.consume(List.of(GLOBAL), 1);
+        stores.remove(store);
+
+        store.close();
+
+        assertThat(source.tokens(GLOBAL)).isEqualTo(999);
+    }
+
+    private LeasingRateLimitStore store() {
+        LeasingRateLimitStore store = new LeasingRateLimitStore(source, source, leasing);
+        stores.add(store);
+        return store;
+    }
+
+    private static RateLimitBucket bucket(RateLimitLayer layer, String id, long capacity) {
+        return new RateLimitBucket(layer, ("{write-rate-limit}:" + id).getBytes(StandardCharsets.UTF_8),
+                capacity, TimeUnit.HOURS.toMicros(1));
+    }
+
+    /**
+     * Buckets without refill, so the arithmetic is exact. Leases of the {@code held} bucket reply
+     * once {@code release} completes; those of the {@code hung} bucket never do.
+     */
+    private static final class FakeLeaseSource implements RateLimitLeaseSource, RateLimitStore {
+
+        private final Map<ByteBuffer, Long> buckets = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger consumes = new AtomicInteger();
+        private final CompletableFuture<Void> release = new CompletableFuture<>();
+        private volatile ByteBuffer held;
+        private volatile ByteBuffer hung;
+
+        @Override
+        public synchronized CompletableFuture<RateLimitDecision> consume(List<RateLimitBucket> requested, long cost) {
+            consumes.incrementAndGet();
+            for (RateLimitBucket bucket : requested) {
+                if (tokens(bucket) < cost) {
+                    return CompletableFuture.completedFuture(new RateLimitDecision(false, bucket, 0, 36_000_000, 3_600_000_000L));
+                }
+            }
+            for (RateLimitBucket bucket : requested) {
+                buckets.put(ByteBuffer.wrap(bucket.key()), tokens(bucket) - cost);
+            }
+            RateLimitBucket first = requested.get(0);
+            return CompletableFuture.completedFuture(new RateLimitDecision(true, first, tokens(first), 0, 3_600_000_000L));
+        }
+
+        @Override
+        public CompletableFuture<List<RateLimitLease>> lease(List<RateLimitBucket> requested, long[] amounts) {
+            calls.incrementAndGet();
+            if (requested.stream().anyMatch(bucket -> ByteBuffer.wrap(bucket.key()).equals(hung))) {
+                return new CompletableFuture<>();
+            }
+            if (requested.stream().anyMatch(bucket -> ByteBuffer.wrap(bucket.key()).equals(held))) {
+                return release.thenApply(released -> leaseNow(requested, amounts));
+            }
+            return CompletableFuture.completedFuture(leaseNow(requested, amounts));
+        }
+
+        private synchronized List<RateLimitLease> leaseNow(List<RateLimitBucket> requested, long[] amounts) {
+            List<RateLimitLease> reply = new ArrayList<>();
+            for (int i = 0; i < requested.size(); i++) {
+                RateLimitBucket bucket = requested.get(i);
+                long tokens = buckets.getOrDefault(ByteBuffer.wrap(bucket.key()), bucket.capacity());
+                long granted = amounts[i] > 0 ? Math.min(amounts[i], tokens) : 0;
+                tokens = amounts[i] > 0 ? tokens - granted : Math.min(bucket.capacity(), tokens - amounts[i]);
+                buckets.put(ByteBuffer.wrap(bucket.key()), tokens);
+                reply.add(new RateLimitLease(granted, tokens, tokens > 0 ? 0 : 36_000_000, 3_600_000_000L));
+            }
+            return reply;
+        }
+
+        synchronized long tokens(RateLimitBucket bucket) {
+            return buckets.getOrDefault(ByteBuffer.wrap(bucket.key()), bucket.capacity());
+        }
+    }
+}
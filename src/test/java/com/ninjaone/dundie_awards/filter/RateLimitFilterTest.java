@@ -0,0 +1,200 @@
+package com.ninjaone.dundie_awards.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitStore store;
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(RateLimitStore.class);
+        properties = new RateLimitProperties();
+        properties.setRequests(100);
+        properties.getOrganization().setRequests(20);
+        properties.getUser().setRequests(10);
+        filter = new RateLimitFilter(store, properties, new RateLimitMetrics(new SimpleMeterRegistry()),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAllLayersAreCheckedInOneCall() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("jim", null, List.of()));
+        // global 95 left, organization 3 left, user 6 left
+        when(store.consume(anyList(), anyLong())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                RateLimitDecision.fromReply(invocation.getArgument(0),
+                        List.of(1L, 0L, 0L, 95L, micros(3), 3L, micros(51), 6L, micros(24)))));
+
+        MockHttpServletResponse response = perform("POST", "/api/organizations/42/awards");
+
+        ArgumentCaptor<List<RateLimitBucket>> buckets = ArgumentCaptor.forClass(List.class);
+        verify(store, times(1)).consume(buckets.capture(), eq(1L));
+        assertThat(buckets.getValue()).extracting(RateLimitBucket::layer)
+                .containsExactly(RateLimitLayer.GLOBAL, RateLimitLayer.ORGANIZATION, RateLimitLayer.USER);
+        assertThat(buckets.getValue()).extracting(bucket -> new String(bucket.key(), StandardCharsets.UTF_8))
+                .containsExactly("{write-rate-limit}:global:api", "{write-rate-limit}:organization:42",
+                        "{write-rate-limit}:user:jim");
+        assertThat(buckets.getValue()).extracting(RateLimitBucket::capacity).containsExactly(100L, 20L, 10L);
+
+        // the layer closest to its limit is reported
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("X-RateLimit-Scope")).isEqualTo("organization");
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("20");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("3");
+        long reset = Long.parseLong(response.getHeader("X-RateLimit-Reset"));
+        assertThat(reset - System.currentTimeMillis() / 1000).isBetween(50L, 52L);
+    }
+
+    @Test
+    void testRejectingLayerIsReportedWithExactRetryAfter() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("jim", null, List.of()));
+        when(store.consume(anyList(), anyLong())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                RateLimitDecision.fromReply(invocation.getArgument(0), List.of(0L, 2L,
+                        Duration.ofMillis(5_600).toNanos() / 1000, 80L, micros(12), 0L, micros(60)))));
+
+        MockHttpServletResponse response = perform("PUT", "/api/employees/1");
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("6");
+        assertThat(response.getHeader("X-RateLimit-Scope")).isEqualTo("user");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(response.getContentAsString()).contains("Rate limit exceeded");
+    }
+
+    @Test
+    void testAnonymousWritesOutsideOrganizationsOnlyUseGlobalBucket() {
+        assertThat(filter.bucketsFor("/api/employees")).extracting(RateLimitBucket::layer)
+                .containsExactly(RateLimitLayer.GLOBAL);
+        assertThat(filter.bucketsFor("/api/organizations/7")).extracting(RateLimitBucket::layer)
+                .containsExactly(RateLimitLayer.GLOBAL, RateLimitLayer.ORGANIZATION);
+    }
+
+    @Test
+    void testOrganizationAwardsCostOneTokenPerHundredEmployees() throws Exception {
+        filter = filterWithCosts(new OrganizationAwardCostEstimator(organizationId -> 1_250, 100));
+        when(store.consume(anyList(), anyLong())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                RateLimitDecision.fromReply(invocation.getArgument(0),
+                        List.of(1L, 0L, 0L, 87L, micros(8), 7L, micros(39)))));
+
+        MockHttpServletResponse response = perform("POST", "/api/organizations/42/awards");
+
+        verify(store).consume(anyList(), eq(13L));
+        assertThat(response.getHeader("X-RateLimit-Cost")).isEqualTo("13");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("7");
+    }
+
+    @Test
+    void testCostIsCappedAtTheSmallestBucket() {
+        filter = filterWithCosts((method, path) -> OptionalLong.empty(),
+                new OrganizationAwardCostEstimator(organizationId -> 100_000, 100));
+
+        // global 100, organization 20: a cost of 1000 could never be paid
+        assertThat(filter.costOf("POST", "/api/organizations/42/awards",
+                filter.bucketsFor("/api/organizations/42/awards"))).isEqualTo(20);
+        assertThat(filter.costOf("POST", "/api/employees/1/awards",
+                filter.bucketsFor("/api/employees/1/awards"))).isEqualTo(1);
+    }
+
+    @Test
+    void testWritesOutsideTheServletStackAreChargedLikeTheirRestTwins() {
+        filter = filterWithCosts(new OrganizationAwardCostEstimator(organizationId -> 1_250, 100));
+        when(store.consume(anyList(), anyLong())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                RateLimitDecision.fromReply(invocation.getArgument(0),
+                        List.of(0L, 2L, micros(2), 87L, micros(8), 7L, micros(39), 3L, micros(42)))));
+
+        RateLimitDecision decision = filter.checkWrite("POST", "/api/organizations/42/awards", "jim").orElseThrow();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RateLimitBucket>> buckets = ArgumentCaptor.forClass(List.class);
+        verify(store).consume(buckets.capture(), eq(13L));
+        assertThat(buckets.getValue()).extracting(RateLimitBucket::layer)
+                .containsExactly(RateLimitLayer.GLOBAL, RateLimitLayer.ORGANIZATION, RateLimitLayer.USER);
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.bucket().layer()).isEqualTo(RateLimitLayer.ORGANIZATION);
+        assertThat(filter.checkWrite("GET", "/api/employees/1", "jim")).isEmpty();
+    }
+
+    @Test
+    void testReadsAreNotCounted() throws Exception {
+        assertThat(perform("GET", "/api/employees").getStatus()).isEqualTo(200);
+
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void testRedisErrorsFailOpen() throws Exception {
+        when(store.consume(anyList(), anyLong())).thenThrow(new IllegalStateException("connection refused"));
+
+        MockHttpServletResponse response = perform("POST", "/api/employees");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("X-RateLimit-Limit")).isNull();
+    }
+
+    @Test
+    void testFailedRepliesFailOpen() throws Exception {
+        when(store.consume(anyList(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("NOSCRIPT")));
+
+        assertThat(perform("POST", "/api/employees").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testSlowRepliesFailOpenAfterTimeout() throws Exception {
+        properties.setTimeout(Duration.ofMillis(20));
+        when(store.consume(anyList(), anyLong())).thenReturn(new CompletableFuture<>());
+
+        MockHttpServletResponse response = perform("POST", "/api/employees");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("X-RateLimit-Limit")).isNull();
+    }
+
+    private RateLimitFilter filterWithCosts(RequestCostEstimator... estimators) {
+        return new RateLimitFilter(store, properties, new RateLimitMetrics(new SimpleMeterRegistry()),
+                List.of(estimators), new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static long micros(long seconds) {
+        return Duration.ofSeconds(seconds).toNanos() / 1000;
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
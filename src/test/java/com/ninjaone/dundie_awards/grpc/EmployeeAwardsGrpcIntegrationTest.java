@@ -0,0 +1,213 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.ninjaone.dundie_awards.model.Employee;
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.proto.ActivityEvent;
+import com.ninjaone.dundie_awards.proto.ActivityMessage;
+import com.ninjaone.dundie_awards.proto.AwardEmployeeRequest;
+import com.ninjaone.dundie_awards.proto.AwardKind;
+import com.ninjaone.dundie_awards.proto.BatchAwardRequest;
+import com.ninjaone.dundie_awards.proto.BatchAwardResponse;
+import com.ninjaone.dundie_awards.proto.EmployeeAwardsGrpc;
+import com.ninjaone.dundie_awards.proto.EmployeeMessage;
+import com.ninjaone.dundie_awards.proto.GetEmployeeRequest;
+import com.ninjaone.dundie_awards.proto.WatchActivitiesRequest;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import com.ninjaone.dundie_awards.util.TestAuthUtil;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against the real gRPC server on an ephemeral port, so calls commit like production ones.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class EmployeeAwardsGrpcIntegrationTest {
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Autowired
+    private ActivityFeed activityFeed;
+
+    @Autowired
+    private TestAuthUtil testAuthUtil;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private ManagedChannel channel;
+    private Organization organization;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        employeeRepository.deleteAll();
+        organizationRepository.deleteAll();
+        organization = organizationRepository.save(Organization.builder()
+                .name("Test Organization")
+                .build());
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(organization)
+                .dundieAwards(0)
+                .build());
+        channel = NettyChannelBuilder.forAddress("localhost", grpcServer.getPort())
+                .usePlaintext()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCallsWithoutTokenAreRejected() {
+        EmployeeAwardsGrpc.EmployeeAwardsBlockingStub stub = EmployeeAwardsGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.getEmployee(GetEmployeeRequest.newBuilder()
+                        .setEmployeeId(employee.getId())
+                        .build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+    }
+
+    @Test
+    void testGetAndAwardEmployee() {
+        EmployeeAwardsGrpc.EmployeeAwardsBlockingStub stub = authenticated(EmployeeAwardsGrpc.newBlockingStub(channel));
+
+        EmployeeMessage awarded = stub.awardEmployee(AwardEmployeeRequest.newBuilder()
+                .setEmployeeId(employee.getId())
+                .setAwardType(AwardKind.INNOVATION)
+                .build());
+        assertThat(awarded.getDundieAwards()).isEqualTo(1);
+
+        EmployeeMessage fetched = stub.getEmployee(GetEmployeeRequest.newBuilder()
+                .setEmployeeId(employee.getId())
+                .setIncludeAwardBreakdown(true)
+                .build());
+        assertThat(fetched.getLastName()).isEqualTo("Doe");
+        assertThat(fetched.getAwardBreakdownMap()).containsEntry("INNOVATION", 1);
+
+        assertThatThrownBy(() -> stub.getEmployee(GetEmployeeRequest.newBuilder().setEmployeeId(999_999L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void testBatchAwardReportsPerEntryFailures() throws Exception {
+        CompletableFuture<BatchAwardResponse> response = new CompletableFuture<>();
+        StreamObserver<BatchAwardRequest> requests = authenticated(EmployeeAwardsGrpc.newStub(channel))
+                .batchAward(completingWith(response));
+
+        requests.onNext(BatchAwardRequest.newBuilder()
+                .setEmployeeId(employee.getId())
+                .setAwardType(AwardKind.HELPED_TEAMMATE)
+                .build());
+        requests.onNext(BatchAwardRequest.newBuilder()
+                .setOrganizationId(organization.getId())
+                .setAwardType(AwardKind.COMPLETED_PROJECT)
+                .build());
+        requests.onNext(BatchAwardRequest.newBuilder()
+                .setEmployeeId(999_999L)
+                .setAwardType(AwardKind.INNOVATION)
+                .build());
+        requests.onCompleted();
+
+        BatchAwardResponse result = response.get(5, TimeUnit.SECONDS);
+        assertThat(result.getRequests()).isEqualTo(3);
+        assertThat(result.getEmployeesAwarded()).isEqualTo(2);
+        assertThat(result.getFailuresList()).singleElement()
+                .satisfies(failure -> assertThat(failure.getRequest().getEmployeeId()).isEqualTo(999_999L));
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getDundieAwards()).isEqualTo(2);
+    }
+
+    @Test
+    void testWatchActivitiesStreamsNewAwards() throws Exception {
+        BlockingQueue<ActivityMessage> received = new LinkedBlockingQueue<>();
+        authenticated(EmployeeAwardsGrpc.newStub(channel)).watchActivities(
+                WatchActivitiesRequest.newBuilder().setEmployeeId(employee.getId()).build(),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(ActivityMessage value) {
+                        received.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (activityFeed.getSubscriberCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        authenticated(EmployeeAwardsGrpc.newBlockingStub(channel)).awardEmployee(AwardEmployeeRequest.newBuilder()
+                .setEmployeeId(employee.getId())
+                .setAwardType(AwardKind.INNOVATION)
+                .build());
+
+        ActivityMessage activity = received.poll(5, TimeUnit.SECONDS);
+        assertThat(activity).isNotNull();
+        assertThat(activity.getEmployeeId()).isEqualTo(employee.getId());
+        assertThat(activity.getEvent()).isEqualTo(ActivityEvent.AWARD_GRANTED);
+    }
+
+    private <S extends io.grpc.stub.AbstractStub<S>> S authenticated(S stub) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER),
+                testAuthUtil.getDefaultAuthToken());
+        return stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    private static <T> StreamObserver<T> completingWith(CompletableFuture<T> future) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+                future.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package com.ninjaone.dundie_awards.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ninjaone.dundie_awards.filter.Bulkhead;
+import com.ninjaone.dundie_awards.filter.BulkheadFilter;
+import com.ninjaone.dundie_awards.filter.EndpointGroup;
+import com.ninjaone.dundie_awards.filter.RateLimitBucket;
+import com.ninjaone.dundie_awards.filter.RateLimitDecision;
+import com.ninjaone.dundie_awards.filter.RateLimitFilter;
+import com.ninjaone.dundie_awards.filter.RateLimitLayer;
+import com.ninjaone.dundie_awards.proto.AwardEmployeeRequest;
+import com.ninjaone.dundie_awards.proto.AwardKind;
+import com.ninjaone.dundie_awards.proto.BatchAwardRequest;
+import com.ninjaone.dundie_awards.proto.EmployeeAwardsGrpc;
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WriteLimitServerInterceptorTest {
+
+    private static final RateLimitBucket ORGANIZATION_BUCKET = new RateLimitBucket(RateLimitLayer.ORGANIZATION,
+            "organization:42".getBytes(StandardCharsets.UTF_8), 20, TimeUnit.MINUTES.toMicros(1));
+
+    private RateLimitFilter rateLimitFilter;
+    private BulkheadFilter bulkheadFilter;
+    private WriteLimitServerInterceptor interceptor;
+    private final List<Object> handled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = mock(RateLimitFilter.class);
+        when(rateLimitFilter.checkWrite(anyString(), anyString(), any())).thenReturn(Optional.empty());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+        bulkheads.put(EndpointGroup.WRITES,
+                new Bulkhead(EndpointGroup.WRITES, 1, 0, Duration.ZERO, meterRegistry));
+        bulkheads.put(EndpointGroup.BULK_WRITES,
+                new Bulkhead(EndpointGroup.BULK_WRITES, 1, 0, Duration.ZERO, meterRegistry));
+        bulkheadFilter = new BulkheadFilter(bulkheads, new ObjectMapper());
+        interceptor = new WriteLimitServerInterceptor(rateLimitFilter, bulkheadFilter);
+    }
+
+    @Test
+    void testBatchEntriesAreChargedLikeTheirRestTwinsAndARejectionEndsTheCall() {
+        when(rateLimitFilter.checkWrite(eq("POST"), eq("/api/organizations/42/awards"), any())).thenReturn(
+                Optional.of(new RateLimitDecision(false, ORGANIZATION_BUCKET, 0, TimeUnit.SECONDS.toMicros(3), 0)));
+        ServerCall<BatchAwardRequest, ?> call = call(EmployeeAwardsGrpc.getBatchAwardMethod());
+
+        ServerCall.Listener<BatchAwardRequest> listener = asUser("jim", () -> start(call));
+        BatchAwardRequest toEmployee = BatchAwardRequest.newBuilder()
+                .setEmployeeId(7)
+                .setAwardType(AwardKind.INNOVATION)
+                .build();
+        BatchAwardRequest toOrganization = BatchAwardRequest.newBuilder()
+                .setOrganizationId(42)
+                .setAwardType(AwardKind.INNOVATION)
+                .build();
+        asUser("jim", () -> {
+            listener.onMessage(toEmployee);
+            listener.onMessage(toOrganization);
+            listener.onMessage(toEmployee);
+            listener.onHalfClose();
+            return null;
+        });
+
+        verify(rateLimitFilter).checkWrite("POST", "/api/employees/7/awards", "jim");
+        verify(rateLimitFilter).checkWrite("POST", "/api/organizations/42/awards", "jim");
+        assertThat(handled).containsExactly(toEmployee);
+        ArgumentCaptor<Metadata> trailers = ArgumentCaptor.forClass(Metadata.class);
+        verify(call).close(argThat(status -> status.getCode() == Status.Code.RESOURCE_EXHAUSTED), trailers.capture());
+        assertThat(trailers.getValue().get(WriteLimitServerInterceptor.RETRY_AFTER)).isEqualTo("3");
+        assertThat(bulkheadFilter.getBulkhead(EndpointGroup.WRITES).getActive()).isZero();
+    }
+
+    @Test
+    void testUnaryAwardHoldsItsBulkheadPermitUntilTheMethodHasRun() {
+        Bulkhead writes = bulkheadFilter.getBulkhead(EndpointGroup.WRITES);
+        AwardEmployeeRequest award = AwardEmployeeRequest.newBuilder()
+                .setEmployeeId(7)
+                .setAwardType(AwardKind.INNOVATION)
+                .build();
+
+        ServerCall<AwardEmployeeRequest, ?> first = call(EmployeeAwardsGrpc.getAwardEmployeeMethod());
+        ServerCall.Listener<AwardEmployeeRequest> admitted = start(first);
+        admitted.onMessage(award);
+        assertThat(writes.getActive()).isEqualTo(1);
+
+        // the bulkhead is full until the first call has run
+        ServerCall<AwardEmployeeRequest, ?> second = call(EmployeeAwardsGrpc.getAwardEmployeeMethod());
+        ServerCall.Listener<AwardEmployeeRequest> shed = start(second);
+        shed.onMessage(award);
+        shed.onHalfClose();
+        verify(second).close(argThat(status -> status.getCode() == Status.Code.UNAVAILABLE), any(Metadata.class));
+
+        admitted.onHalfClose();
+        assertThat(handled).containsExactly(award, "halfClose");
+        assertThat(writes.getActive()).isZero();
+        verify(first, never()).close(any(), any());
+    }
+
+    @Test
+    void testReadsPassWithoutLimits() {
+        ServerCall<Object, ?> call = call(EmployeeAwardsGrpc.getGetEmployeeMethod());
+
+        start(call).onMessage("not a write");
+
+        assertThat(handled).containsExactly("not a write");
+        verifyNoInteractions(rateLimitFilter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q> ServerCall<Q, ?> call(MethodDescriptor<?, ?> method) {
+        ServerCall<Q, Object> call = mock(ServerCall.class);
+        when(call.getMethodDescriptor()).thenReturn((MethodDescriptor<Q, Object>) method);
+        return call;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q> ServerCall.Listener<Q> start(ServerCall<Q, ?> call) {
+        return interceptor.interceptCall((ServerCall<Q, Object>) call, new Metadata(),
+                (c, headers) -> new ServerCall.Listener<>() {
+                    @Override
+                    public void onMessage(Q message) {
+                        handled.add(message);
+                    }
+
+                    @Override
+                    public void onHalfClose() {
+                        // unary handlers run the method here
+                        if (c.getMethodDescriptor().getType() == MethodDescriptor.MethodType.UNARY) {
+                            handled.add("halfClose");
+                        }
+                    }
+                });
+    }
+
+    private static <T> T asUser(String username, Callable<T> action) {
+        try {
+            return Context.current().withValue(JwtServerInterceptor.USERNAME, username).call(action);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ninjaone.dundie_awards.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatisticsListenerTest {
+
+    private final SqlStatisticsListener listener = new SqlStatisticsListener();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.stop();
+    }
+
+    @Test
+    void testShapeIgnoresArgumentsAndInListLength() {
+        assertThat(SqlStatisticsListener.shape("select * from awards a\n  where a.employee_id in (?, ?, ?) and a.type = 'SALES'"))
+                .isEqualTo(SqlStatisticsListener.shape("select * from awards a where a.employee_id in (?) and a.type = 'TEAM'"))
+                .isEqualTo("select * from awards a where a.employee_id in (?) and a.type = ?");
+        assertThat(SqlStatisticsListener.shape("select e1_0.id from employees e1_0 where e1_0.id = 42"))
+                .isEqualTo("select e1_0.id from employees e1_0 where e1_0.id = ?");
+    }
+
+    @Test
+    void testCountsStatementsAndRowsOfTheCurrentRequestOnly() {
+        run("update employees set version = ? where id = ?", 1);
+        assertThat(SqlStatistics.current()).isNull();
+
+        SqlStatistics statistics = SqlStatistics.start();
+        for (int i = 0; i < 3; i++) {
+            run("select * from awards where employee_id = " + i, null);
+        }
+        run("update employees set version = ? where id = ?", 1);
+        run("insert into activities values (?, ?)", new int[] {1, 1});
+
+        assertThat(statistics.getStatements()).isEqualTo(5);
+        assertThat(statistics.getRows()).isEqualTo(3);
+        assertThat(statistics.getRepeatedShapes(3))
+                .containsOnlyKeys("select * from awards where employee_id = ?")
+                .containsValue(3);
+        assertThat(statistics.getRepeatedShapes(4)).isEmpty();
+    }
+
+    private void run(String sql, Object result) {
+        ExecutionInfo execution = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(execution, queries);
+        execution.setResult(result);
+        listener.afterQuery(execution, queries);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ninjaone.dundie_awards.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ninjaone.dundie_awards.dto.ActivityDto;
+import com.ninjaone.dundie_awards.dto.EmployeeDto;
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.dto.PageResponse;
+import com.ninjaone.dundie_awards.model.ActivityType;
+import com.ninjaone.dundie_awards.model.AwardType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written serializers must produce byte-for-byte the JSON Jackson derives from the records.
+ */
+class DtoSerializersTest {
+
+    private ObjectMapper reflective;
+    private ObjectMapper tuned;
+
+    @BeforeEach
+    void setUp() {
+        reflective = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        tuned = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new SimpleModule()
+                        .addSerializer(new DtoSerializers.EmployeeDtoSerializer())
+                        .addSerializer(new DtoSerializers.OrganizationDtoSerializer())
+                        .addSerializer(new DtoSerializers.ActivityDtoSerializer())
+                        .addSerializer(new DtoSerializers.PageResponseSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Test
+    void testEmployeeDtoMatchesReflectiveOutput() throws Exception {
+        Map<AwardType, Integer> breakdown = new EnumMap<>(AwardType.class);
+        breakdown.put(AwardType.INNOVATION, 2);
+        breakdown.put(AwardType.MENTORED_COLLEAGUE, 1);
+        EmployeeDto withBreakdown = new EmployeeDto(1L, "Jim", "Halpert \"Big Tuna\"", 2L, "Squanchy", 3, 4L, breakdown);
+        EmployeeDto withNulls = new EmployeeDto(2L, "Pam", null, null, null, null, null, null);
+
+        assertThat(tuned.writeValueAsString(withBreakdown)).isEqualTo(reflective.writeValueAsString(withBreakdown));
+        assertThat(tuned.writeValueAsString(withNulls)).isEqualTo(reflective.writeValueAsString(withNulls));
+    }
+
+    @Test
+    void testActivityAndOrganizationDtoMatchReflectiveOutput() throws Exception {
+        ActivityDto activity = new ActivityDto(7L, Instant.parse("2024-01-02T03:04:05.123456Z"), 1L, ActivityType.AWARD_GRANTED);
+        OrganizationDto organization = new OrganizationDto(3L, "Pikashu");
+
+        assertThat(tuned.writeValueAsString(activity)).isEqualTo(reflective.writeValueAsString(activity));
+        assertThat(tuned.writeValueAsString(organization)).isEqualTo(reflective.writeValueAsString(organization));
+    }
+
+    @Test
+    void testLazilyMappedPageIsMappedWhileWriting() throws Exception {
+        AtomicInteger mapped = new AtomicInteger();
+        PageImpl<Long> ids = new PageImpl<>(List.of(1L, 2L, 3L), PageRequest.of(0, 3), 10);
+
+        PageResponse<OrganizationDto> lazy = PageResponse.from(ids, id -> {
+            mapped.incrementAndGet();
+            return new OrganizationDto(id, "Org " + id);
+        });
+        assertThat(mapped).hasValue(0);
+
+        PageResponse<OrganizationDto> eager = PageResponse.from(ids.map(id -> new OrganizationDto(id, "Org " + id)));
+        assertThat(tuned.writeValueAsString(lazy)).isEqualTo(reflective.writeValueAsString(eager));
+        assertThat(mapped).hasValue(3);
+    }
+}
@@ -41,12 +41,15 @@ class ActivityServiceTest {
 
     private ActivityMapper activityMapper;
 
+    @Mock
+    private WriteSequenceService writeSequenceService;
+
     private ActivityService activityService;
 
     @BeforeEach
     void setUp() {
         activityMapper = Mappers.getMapper(ActivityMapper.class);
-        activityService = new ActivityService(activityRepository, activityMapper);
+        activityService = new ActivityService(activityRepository, activityMapper, writeSequenceService);
     }
 
     @Test
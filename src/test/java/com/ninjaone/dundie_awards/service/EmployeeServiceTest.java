@@ -7,6 +7,7 @@ import com.ninjaone.dundie_awards.dto.UpdateEmployeeRequest;
 import com.ninjaone.dundie_awards.exception.BusinessValidationException;
 import com.ninjaone.dundie_awards.exception.EmployeeNotFoundException;
 import com.ninjaone.dundie_awards.exception.OrganizationNotFoundException;
+import com.ninjaone.dundie_awards.exception.PreconditionFailedException;
 import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
 import com.ninjaone.dundie_awards.model.Activity;
 import com.ninjaone.dundie_awards.model.ActivityType;
@@ -56,6 +57,9 @@ class EmployeeServiceTest {
     @Mock
     private ActivityRepository activityRepository;
 
+    @Mock
+    private WriteSequenceService writeSequenceService;
+
     private EmployeeService employeeService;
 
 
@@ -66,7 +70,8 @@ class EmployeeServiceTest {
                 employeeRepository,
                 organizationRepository,
                 employeeMapper,
-                activityRepository
+                activityRepository,
+                writeSequenceService
         );
     }
 
@@ -286,6 +291,29 @@ class EmployeeServiceTest {
         verify(employeeRepository).save(any(Employee.class));
     }
 
+    @Test
+    void testUpdateEmployeeWithStaleVersion() {
+        // Given
+        Organization testOrganization = Organization.builder()
+                .name("Test Organization")
+                .build();
+        Employee testEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(testOrganization)
+                .dundieAwards(0)
+                .build();
+        EmployeeRequest updateRequest = new EmployeeRequest("John", "Updated", 1L);
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        // When/Then
+        assertThatThrownBy(() -> employeeService.updateEmployee(1L, updateRequest, 5L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(writeSequenceService, never()).markChanged(any());
+    }
+
     @Test
     void testUpdateEmployeeNotFound() {
         // Given
@@ -620,6 +648,115 @@ class EmployeeServiceTest {
         verify(activityRepository, never()).save(any(Activity.class));
     }
 
+    @Test
+    void testAwardEmployeeIncrementsAwardTypeCounter() {
+        // Given
+        Organization testOrganization = Organization.builder()
+                .name("Test Organization")
+                .build();
+        Employee testEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(testOrganization)
+                .dundieAwards(0)
+                .build();
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        employeeService.awardEmployee(1L, new AwardRequest(AwardType.MENTORED_COLLEAGUE));
+        employeeService.awardEmployee(1L, new AwardRequest(AwardType.MENTORED_COLLEAGUE));
+        employeeService.awardEmployee(1L, new AwardRequest(AwardType.INNOVATION));
+
+        // Then
+        assertThat(testEmployee.getDundieAwards()).isEqualTo(3);
+        assertThat(testEmployee.getAwardCounts().get(AwardType.MENTORED_COLLEAGUE)).isEqualTo(2);
+        assertThat(testEmployee.getAwardCounts().get(AwardType.INNOVATION)).isEqualTo(1);
+        assertThat(testEmployee.getAwardCounts().get(AwardType.HELPED_TEAMMATE)).isZero();
+    }
+
+    @Test
+    void testGetEmployeeWithAwardBreakdown() {
+        // Given
+        Organization testOrganization = Organization.builder()
+                .name("Test Organization")
+                .build();
+        Employee testEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(testOrganization)
+                .dundieAwards(0)
+                .build();
+        testEmployee.recordAward(AwardType.CUSTOMER_SATISFACTION);
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        // When
+        EmployeeDto withBreakdown = employeeService.getEmployee(1L, true);
+        EmployeeDto withoutBreakdown = employeeService.getEmployee(1L);
+
+        // Then
+        assertThat(withBreakdown.dundieAwards()).isEqualTo(1);
+        assertThat(withBreakdown.awardBreakdown())
+                .containsEntry(AwardType.CUSTOMER_SATISFACTION, 1)
+                .containsEntry(AwardType.INNOVATION, 0)
+                .hasSize(AwardType.values().length);
+        assertThat(withoutBreakdown.awardBreakdown()).isNull();
+    }
+
+    @Test
+    void testRemoveAwardOfType() {
+        // Given
+        Organization testOrganization = Organization.builder()
+                .name("Test Organization")
+                .build();
+        Employee testEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(testOrganization)
+                .dundieAwards(0)
+                .build();
+        testEmployee.recordAward(AwardType.INNOVATION);
+        testEmployee.recordAward(AwardType.COMPLETED_PROJECT);
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        EmployeeDto result = employeeService.removeAward(1L, AwardType.INNOVATION);
+
+        // Then
+        assertThat(result.dundieAwards()).isEqualTo(1);
+        assertThat(testEmployee.getAwardCounts().get(AwardType.INNOVATION)).isZero();
+        assertThat(testEmployee.getAwardCounts().get(AwardType.COMPLETED_PROJECT)).isEqualTo(1);
+    }
+
+    @Test
+    void testRemoveAwardOfTypeWithNoAwardsOfThatType() {
+        // Given
+        Organization testOrganization = Organization.builder()
+                .name("Test Organization")
+                .build();
+        Employee testEmployee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .organization(testOrganization)
+                .dundieAwards(0)
+                .build();
+        testEmployee.recordAward(AwardType.INNOVATION);
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+
+        // When/Then
+        assertThatThrownBy(() -> employeeService.removeAward(1L, AwardType.HELPED_TEAMMATE))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage("Employee has no HELPED_TEAMMATE awards to remove");
+
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(activityRepository, never()).save(any(Activity.class));
+    }
+
     @Test
     void testPatchEmployeeWithFirstNameOnly() {
         // Given
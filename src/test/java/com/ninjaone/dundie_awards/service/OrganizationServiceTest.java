@@ -45,6 +45,9 @@ class OrganizationServiceTest {
     private EmployeeMapper employeeMapper;
     private OrganizationMapper organizationMapper;
 
+    @Mock
+    private WriteSequenceService writeSequenceService;
+
     private OrganizationService organizationService;
 
     @BeforeEach
@@ -55,7 +58,8 @@ class OrganizationServiceTest {
                 employeeRepository,
                 organizationRepository,
                 employeeMapper,
-                organizationMapper
+                organizationMapper,
+                writeSequenceService
         );
     }
 
@@ -0,0 +1,99 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.dto.OrganizationDto;
+import com.ninjaone.dundie_awards.mapper.ActivityMapper;
+import com.ninjaone.dundie_awards.mapper.EmployeeMapper;
+import com.ninjaone.dundie_awards.mapper.OrganizationMapper;
+import com.ninjaone.dundie_awards.model.Organization;
+import com.ninjaone.dundie_awards.repository.ActivityRepository;
+import com.ninjaone.dundie_awards.repository.EmployeeRepository;
+import com.ninjaone.dundie_awards.repository.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class StreamingReadServiceTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger openTransactions = new AtomicInteger();
+
+    private StreamingReadService streamingReadService;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            openTransactions.incrementAndGet();
+            return null;
+        }).when(transactionManager).getTransaction(any());
+        doAnswer(invocation -> openTransactions.decrementAndGet()).when(transactionManager).commit(any());
+        streamingReadService = new StreamingReadService(mock(EmployeeRepository.class), organizationRepository,
+                mock(ActivityRepository.class), Mappers.getMapper(EmployeeMapper.class),
+                Mappers.getMapper(OrganizationMapper.class), Mappers.getMapper(ActivityMapper.class),
+                transactionManager);
+    }
+
+    @Test
+    void testReadsInKeysetChunksAndWritesOutsideTheTransaction() {
+        // Given - one full chunk and one more row
+        when(organizationRepository.findOldestAfter(eq(0L), any()))
+                .thenReturn(organizations(1, StreamingReadService.CHUNK_SIZE));
+        when(organizationRepository.findOldestAfter(eq((long) StreamingReadService.CHUNK_SIZE), any()))
+                .thenReturn(organizations(StreamingReadService.CHUNK_SIZE + 1, StreamingReadService.CHUNK_SIZE + 1));
+        List<Long> ids = new ArrayList<>();
+
+        // When
+        long count = streamingReadService.streamOrganizations(dto -> {
+            assertThat(openTransactions).hasValue(0);
+            ids.add(dto.id());
+        });
+
+        // Then
+        assertThat(count).isEqualTo(StreamingReadService.CHUNK_SIZE + 1);
+        assertThat(ids).first().isEqualTo(1L);
+        assertThat(ids).last().isEqualTo(StreamingReadService.CHUNK_SIZE + 1L);
+        verify(organizationRepository, times(2)).findOldestAfter(anyLong(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testEmptyTableReadsOneChunk() {
+        when(organizationRepository.findOldestAfter(eq(0L), any())).thenReturn(List.of());
+        List<OrganizationDto> written = new ArrayList<>();
+
+        assertThat(streamingReadService.streamOrganizations(written::add)).isZero();
+
+        assertThat(written).isEmpty();
+        verify(organizationRepository).findOldestAfter(eq(0L), any());
+    }
+
+    private static List<Organization> organizations(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> {
+            Organization organization = Organization.builder().name("Organization" + id).build();
+            ReflectionTestUtils.setField(organization, "id", id);
+            return organization;
+        }).toList();
+    }
+}
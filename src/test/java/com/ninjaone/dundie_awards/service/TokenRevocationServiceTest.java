@@ -0,0 +1,127 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.config.TokenRevocationProperties;
+import com.ninjaone.dundie_awards.model.RevokedToken;
+import com.ninjaone.dundie_awards.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private MeterRegistry meterRegistry;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationService = new TokenRevocationService(
+                revokedTokenRepository, new TokenRevocationProperties(), meterRegistry);
+    }
+
+    @Test
+    void testTokensThatWereNeverRevokedSkipTheStore() {
+        tokenRevocationService.rebuild();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(tokenRevocationService.isRevoked("jti-" + i)).isFalse();
+        }
+        verify(revokedTokenRepository, never()).existsByTokenId(any());
+    }
+
+    @Test
+    void testRevokedTokenIsConfirmedOnceAgainstTheStore() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("jti-1"));
+        when(revokedTokenRepository.existsByTokenId("jti-1")).thenReturn(true);
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked("jti-1")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("jti-1")).isTrue();
+
+        verify(revokedTokenRepository, times(1)).existsByTokenId("jti-1");
+        assertThat(meterRegistry.get("token.revocation.lookups").tag("result", "revoked").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testRevokeTakesEffectLocallyAtOnce() {
+        tokenRevocationService.rebuild();
+        when(revokedTokenRepository.existsByTokenId("jti-2")).thenReturn(false, true);
+
+        tokenRevocationService.revoke("jti-2", "admin", Instant.now().plus(Duration.ofMinutes(5)));
+
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+        assertThat(tokenRevocationService.isRevoked("jti-2")).isTrue();
+    }
+
+    @Test
+    void testLosingTheRaceToRevokeTheSameTokenIsNotAnError() {
+        tokenRevocationService.rebuild();
+        // both logouts saw no row; the other one inserted first
+        when(revokedTokenRepository.existsByTokenId("jti-6")).thenReturn(false, true);
+        when(revokedTokenRepository.save(any(RevokedToken.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key token_id"));
+
+        tokenRevocationService.revoke("jti-6", "admin", Instant.now().plus(Duration.ofMinutes(5)));
+
+        assertThat(tokenRevocationService.isRevoked("jti-6")).isTrue();
+    }
+
+    @Test
+    void testExpiredTokensAreNotRecorded() {
+        tokenRevocationService.revoke("jti-3", "admin", Instant.now().minusSeconds(1));
+
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void testSyncPicksUpRevocationsFromOtherNodes() {
+        tokenRevocationService.rebuild();
+        assertThat(tokenRevocationService.isRevoked("jti-4")).isFalse();
+
+        RevokedToken remote = RevokedToken.builder()
+                .tokenId("jti-4")
+                .username("admin")
+                .expiresAt(Instant.now().plus(Duration.ofMinutes(5)))
+                .revokedAt(Instant.now())
+                .build();
+        ReflectionTestUtils.setField(remote, "id", 1L);
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any())).thenReturn(List.of(remote));
+        when(revokedTokenRepository.existsByTokenId("jti-4")).thenReturn(true);
+        tokenRevocationService.sync();
+
+        assertThat(tokenRevocationService.isRevoked("jti-4")).isTrue();
+        assertThat(meterRegistry.get("token.revocation.entries").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testRebuildDropsExpiredRevocations() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("jti-5"), List.of());
+        tokenRevocationService.rebuild();
+
+        tokenRevocationService.rebuild();
+
+        verify(revokedTokenRepository, times(2)).deleteExpired(any());
+        assertThat(tokenRevocationService.isRevoked("jti-5")).isFalse();
+        verify(revokedTokenRepository, never()).existsByTokenId(any());
+    }
+}
@@ -0,0 +1,106 @@
+package com.ninjaone.dundie_awards.service;
+
+import com.ninjaone.dundie_awards.config.UserCacheProperties;
+import com.ninjaone.dundie_awards.model.Role;
+import com.ninjaone.dundie_awards.model.User;
+import com.ninjaone.dundie_awards.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("null")
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCacheProperties properties;
+    private MeterRegistry meterRegistry;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new UserDetailsServiceImpl(userRepository, properties, meterRegistry);
+    }
+
+    @Test
+    void testRepeatLookupsAreCached() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user("admin")));
+
+        UserDetails first = userDetailsService.loadUserByUsername("admin");
+        // authentication erases credentials on the instance it was handed
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = userDetailsService.loadUserByUsername("admin");
+
+        assertThat(second.getPassword()).isEqualTo("{bcrypt}hash");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(1)).findByUsername("admin");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownUsersAreNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void testUserChangeClearsCache() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user("admin")));
+        userDetailsService.loadUserByUsername("admin");
+
+        userDetailsService.onUserChanged(new UserChangedEvent("admin"));
+        userDetailsService.loadUserByUsername("admin");
+
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    void testPrewarmLoadsServiceAccountsInOneQuery() {
+        properties.setPrewarmUsernames(List.of("reporting", "billing", "missing"));
+        when(userRepository.findAllWithRolesByUsernameIn(anyCollection()))
+                .thenReturn(List.of(user("reporting"), user("billing")));
+
+        userDetailsService.prewarm();
+        userDetailsService.loadUserByUsername("reporting");
+        userDetailsService.loadUserByUsername("billing");
+
+        verify(userRepository, never()).findByUsername(anyString());
+        assertThat(meterRegistry.get("user.details.cache.prewarmed").counter().count()).isEqualTo(2);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .password("{bcrypt}hash")
+                .roles(Set.of(Role.ROLE_ADMIN))
+                .enabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ninjaone.dundie_awards.util;
+
+import com.ninjaone.dundie_awards.jdbc.SqlStatistics;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers for the SQL run by a request, to catch queries added per row.
+ * Statements the request ran on other threads are not counted.
+ */
+public final class SqlStatisticsMatchers {
+
+    private SqlStatisticsMatchers() {
+    }
+
+    public static ResultMatcher sqlStatements(int expected) {
+        return result -> assertThat(statistics(result).getStatements())
+                .as("SQL statements run by %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    public static SqlStatistics statistics(MvcResult result) {
+        SqlStatistics statistics = (SqlStatistics) result.getRequest().getAttribute(SqlStatistics.ATTRIBUTE);
+        assertThat(statistics).as("SQL statistics; is sql-statistics.enabled?").isNotNull();
+        return statistics;
+    }
+}